@@ -0,0 +1,106 @@
+package com.ferreira.dscatalog.benchmarks;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.resources.protobuf.CatalogProto;
+
+/*
+ * Encode and decode cost of a product page per representation. Payload sizes are printed once per
+ * trial; run with -prof gc to compare allocation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({ "json", "json-blackbird", "cbor", "smile", "protobuf" })
+    private String format;
+
+    @Param({ "100", "1000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductDTO> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings Spring Boot applies to the application's ObjectMapper.
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Only measured for comparison; the application does not install it.
+        if (format.equals("json-blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        Category computers = new Category(3L, "Computers");
+        List<ProductDTO> content = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Product product = new Product(i, "PC Gamer " + i, "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.",
+                    1200.0 + i, "https://example.com/" + i + "-big.jpg", Instant.parse("2020-07-13T20:50:07Z").plusSeconds(i));
+            product.getCategories().add(computers);
+            content.add(new ProductDTO(product, product.getCategories()));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 25_000);
+        encoded = encode();
+        System.out.println("payload bytes: " + format + " " + pageSize + " products = " + encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return format.equals("protobuf") ? CatalogProto.encode(page) : objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return format.equals("protobuf") ? CatalogProto.decodePage(encoded) : objectMapper.readValue(encoded, PageEnvelope.class);
+    }
+
+    // Client-side view of the page: the content and totals, as a consumer would bind them
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PageEnvelope {
+
+        public List<ProductDTO> content;
+        public long totalElements;
+        public int totalPages;
+        public int number;
+        public int size;
+    }
+}
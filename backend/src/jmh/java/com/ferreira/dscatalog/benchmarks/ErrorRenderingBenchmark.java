@@ -0,0 +1,51 @@
+package com.ferreira.dscatalog.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ferreira.dscatalog.resources.exceptions.ResourceExceptionHandler;
+import com.ferreira.dscatalog.resources.exceptions.StandardError;
+import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorRenderingBenchmark {
+
+    private ResourceExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new ResourceExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        request = new MockHttpServletRequest("GET", "/products/1000");
+    }
+
+    // Includes building the exception, whose stack trace capture is usually the dominant cost.
+    @Benchmark
+    public byte[] renderNotFound() throws JsonProcessingException {
+        ResponseEntity<StandardError> response = handler.entityNotFound(new ResourceNotFoundException("Entity not found"), request);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,75 @@
+package com.ferreira.dscatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.dto.UserDTO;
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.entities.Role;
+import com.ferreira.dscatalog.entities.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Product product;
+    private Category category;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        product = new Product(1L, "PC Gamer", "Lorem ipsum dolor sit amet, consectetur adipiscing elit.", 1200.0,
+                "https://example.com/1-big.jpg", Instant.parse("2020-07-13T20:50:07Z"));
+        product.getCategories().add(new Category(1L, "Books"));
+        product.getCategories().add(new Category(2L, "Electronics"));
+        product.getCategories().add(new Category(3L, "Computers"));
+
+        category = new Category(3L, "Computers");
+
+        user = new User();
+        user.setId(1L);
+        user.setFirstName("Maria");
+        user.setLastName("Estape");
+        user.setEmail("maria@gmail.com");
+        user.getRoles().add(new Role(1L, "ROLE_OPERATOR"));
+        user.getRoles().add(new Role(2L, "ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public ProductDTO productWithoutCategories() {
+        return new ProductDTO(product);
+    }
+
+    @Benchmark
+    public ProductDTO productWithCategories() {
+        return new ProductDTO(product, product.getCategories());
+    }
+
+    @Benchmark
+    public CategoryDTO category() {
+        return new CategoryDTO(category);
+    }
+
+    @Benchmark
+    public UserDTO user() {
+        return new UserDTO(user);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ferreira.dscatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ferreira.dscatalog.DscatalogApplication;
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.dto.UserInsertDTO;
+import com.ferreira.dscatalog.services.ProductService;
+import com.ferreira.dscatalog.services.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Service write paths against the embedded H2 database of the test profile.
+ * Sample time mode reports latency percentiles; the statements counter is the number of JDBC
+ * statements Hibernate prepared, divided by the operation count in the results.
+ * Each benchmark runs with and without the second-level cache.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        // Compare the statements counter of both runs to see the queries the cache saves
+        @Param({ "true", "false" })
+        public boolean secondLevelCache;
+
+        private ConfigurableApplicationContext context;
+        private ProductService productService;
+        private UserService userService;
+        private Statistics statistics;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(DscatalogApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("spring.jpa.show-sql=false",
+                            "spring.jpa.properties.hibernate.format_sql=false",
+                            "spring.jpa.properties.hibernate.generate_statistics=true",
+                            "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                            "logging.level.root=WARN")
+                    .run();
+            productService = context.getBean(ProductService.class);
+            userService = context.getBean(UserService.class);
+            statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        ProductDTO newProduct() {
+            ProductDTO dto = new ProductDTO(null, "Benchmark product " + sequence++, "Lorem ipsum dolor sit amet", 100.0, "https://example.com/img.jpg", Instant.now());
+            dto.getCategories().add(new CategoryDTO(1L, null));
+            dto.getCategories().add(new CategoryDTO(3L, null));
+            return dto;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+
+        private long before;
+
+        void start(Application app) {
+            before = app.statistics.getPrepareStatementCount();
+        }
+
+        void stop(Application app) {
+            statements += app.statistics.getPrepareStatementCount() - before;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ExistingProduct {
+
+        private Long id;
+        private ProductDTO update;
+
+        @Setup(Level.Iteration)
+        public void insert(Application app) {
+            id = app.productService.insert(app.newProduct()).getId();
+            update = app.newProduct();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DisposableProduct {
+
+        private Long id;
+
+        @Setup(Level.Invocation)
+        public void insert(Application app) {
+            id = app.productService.insert(app.newProduct()).getId();
+        }
+    }
+
+    @Benchmark
+    public ProductDTO productUpdate(Application app, ExistingProduct product, Statements counter) {
+        counter.start(app);
+        ProductDTO result = app.productService.update(product.id, product.update);
+        counter.stop(app);
+        return result;
+    }
+
+    @Benchmark
+    public void productDelete(Application app, DisposableProduct product, Statements counter) {
+        counter.start(app);
+        app.productService.delete(product.id);
+        counter.stop(app);
+    }
+
+    @Benchmark
+    public Object userInsert(Application app, Statements counter) {
+        UserInsertDTO dto = new UserInsertDTO();
+        dto.setFirstName("Bench");
+        dto.setLastName("Mark");
+        dto.setEmail("bench" + app.sequence++ + "@example.com");
+        dto.setPassword("123456");
+        dto.getRoleDTOs().add(new RoleDTO(1L, "ROLE_OPERATOR"));
+        counter.start(app);
+        Object result = app.userService.insert(dto);
+        counter.stop(app);
+        return result;
+    }
+}
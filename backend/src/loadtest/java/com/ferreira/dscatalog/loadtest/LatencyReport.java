@@ -0,0 +1,107 @@
+package com.ferreira.dscatalog.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, Histogram> histograms;
+    private final Map<String, EndpointResult> results = new TreeMap<>();
+
+    public LatencyReport(Map<String, Histogram> histograms, Map<String, LongAdder> errors, Duration duration) {
+        this.histograms = histograms;
+        histograms.forEach((name, histogram) -> {
+            EndpointResult result = new EndpointResult();
+            result.count = histogram.getTotalCount();
+            result.errors = errors.containsKey(name) ? errors.get(name).sum() : 0;
+            result.throughput = (double) result.count / duration.toSeconds();
+            result.p50 = histogram.getValueAtPercentile(50) / NANOS_PER_MILLI;
+            result.p90 = histogram.getValueAtPercentile(90) / NANOS_PER_MILLI;
+            result.p99 = histogram.getValueAtPercentile(99) / NANOS_PER_MILLI;
+            result.p999 = histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+            result.max = histogram.getMaxValue() / NANOS_PER_MILLI;
+            results.put(name, result);
+        });
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-26s %8s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((name, r) -> out.printf("%-26s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, r.count, r.errors, r.throughput, r.p50, r.p90, r.p99, r.p999, r.max));
+    }
+
+    // One .hgrm percentile distribution per endpoint, in milliseconds, for the HdrHistogram plotter.
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(file)))) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    public void writeBaseline(Path baseline) throws IOException {
+        Files.createDirectories(baseline.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(baseline.toFile(), results);
+    }
+
+    /*
+     * False when an endpoint's p99 grew, or its throughput dropped, by more than the tolerance. A missing
+     * baseline, or an endpoint it does not cover, fails too: there is nothing to hold the run against.
+     */
+    public boolean compareWith(Path baseline, double tolerance, PrintStream out) throws IOException {
+        if (!Files.exists(baseline)) {
+            out.println("No baseline at " + baseline + "; record one with -Dloadtest.update-baseline=true");
+            return false;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, EndpointResult> expected = mapper.readValue(baseline.toFile(),
+                mapper.getTypeFactory().constructMapType(TreeMap.class, String.class, EndpointResult.class));
+        boolean passed = true;
+        for (Map.Entry<String, EndpointResult> entry : results.entrySet()) {
+            EndpointResult before = expected.get(entry.getKey());
+            EndpointResult now = entry.getValue();
+            if (before == null) {
+                passed = false;
+                out.printf("NO BASELINE %s; record one with -Dloadtest.update-baseline=true%n", entry.getKey());
+                continue;
+            }
+            boolean slower = now.p99 > before.p99 * (1 + tolerance);
+            boolean fewer = now.throughput < before.throughput * (1 - tolerance);
+            if (slower || fewer) {
+                passed = false;
+                out.printf("REGRESSION %s: p99 %.2f ms (baseline %.2f), %.1f req/s (baseline %.1f)%n",
+                        entry.getKey(), now.p99, before.p99, now.throughput, before.throughput);
+            }
+        }
+        out.println(passed ? "Within " + (int) (tolerance * 100) + "% of baseline" : "Baseline comparison failed");
+        return passed;
+    }
+
+    public static class EndpointResult {
+
+        public long count;
+        public long errors;
+        public double throughput;
+        public double p50;
+        public double p90;
+        public double p99;
+        public double p999;
+        public double max;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ferreira.dscatalog.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ferreira.dscatalog.DscatalogApplication;
+import com.ferreira.dscatalog.dto.ImportReportDTO;
+import com.ferreira.dscatalog.services.ProductImportService;
+
+/*
+ * Open-model load generator: requests are issued on a fixed schedule whatever the response times are,
+ * and each latency is measured from the moment the request was due. A slow server therefore shows up
+ * as queueing delay in the percentiles instead of silently lowering the request rate.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int products = Integer.getInteger("loadtest.products", 10_000);
+        Path baseline = Path.of(System.getProperty("loadtest.baseline", "src/loadtest/resources/baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+        boolean updateBaseline = Boolean.getBoolean("loadtest.update-baseline");
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+        long dbLatencyMillis = Long.getLong("loadtest.db-latency-ms", 0);
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DscatalogApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.format_sql=false", "logging.level.root=WARN",
+                        "app.threads.virtual=" + virtualThreads);
+        if (dbLatencyMillis > 0) {
+            builder.initializers(x -> x.getBeanFactory().addBeanPostProcessor(new DbLatencyInjector(dbLatencyMillis)));
+        }
+        System.out.printf("Request threads: %s, injected DB latency: %d ms%n", virtualThreads ? "virtual" : "platform pool", dbLatencyMillis);
+        ConfigurableApplicationContext context = builder.run(args);
+        int exitCode;
+        try {
+            long productCount = 25 + seed(context.getBean(ProductImportService.class), products);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = new Workload("http://localhost:" + port, productCount);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+
+            System.out.printf("Warming up for %ds at %d req/s%n", warmupSeconds, rate);
+            run(client, workload, rate, Duration.ofSeconds(warmupSeconds), new Random(7));
+            System.out.printf("Measuring for %ds at %d req/s%n", durationSeconds, rate);
+            LatencyReport report = run(client, workload, rate, Duration.ofSeconds(durationSeconds), new Random(42));
+
+            report.print(System.out);
+            report.writeHistograms(Path.of("target", "loadtest"));
+            if (updateBaseline) {
+                report.writeBaseline(baseline);
+                System.out.println("Baseline written to " + baseline);
+                exitCode = 0;
+            } else {
+                exitCode = report.compareWith(baseline, tolerance, System.out) ? 0 : 1;
+            }
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static long seed(ProductImportService importService, int products) throws Exception {
+        ByteArrayOutputStream feed = new ByteArrayOutputStream();
+        Random random = new Random(1);
+        for (int i = 0; i < products; i++) {
+            String line = "{\"name\":\"Synthetic product " + i + "\",\"description\":\"Lorem ipsum dolor sit amet " + i + "\",\"price\":" + (10 + random.nextInt(5000))
+                    + ",\"imgUrl\":\"https://example.com/" + i + ".jpg\",\"date\":\"2020-07-13T20:50:07Z\",\"categories\":[{\"id\":" + (1 + random.nextInt(3)) + "}]}\n";
+            feed.write(line.getBytes(StandardCharsets.UTF_8));
+        }
+        ImportReportDTO report = importService.importProducts(new ByteArrayInputStream(feed.toByteArray()), ProductImportService.NDJSON);
+        System.out.printf("Seeded %d products%n", report.getInserted());
+        return report.getInserted();
+    }
+
+    private static LatencyReport run(HttpClient client, Workload workload, int rate, Duration duration, Random random) throws Exception {
+        Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0;; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Operation operation = workload.next(random);
+            Histogram histogram = histograms.computeIfAbsent(operation.getName(), x -> new ConcurrentHistogram(3));
+            inFlight.add(client.sendAsync(operation.request(random), HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+                histogram.recordValue(System.nanoTime() - intended);
+                if (e != null || response.statusCode() >= 400) {
+                    errors.computeIfAbsent(operation.getName(), x -> new LongAdder()).increment();
+                }
+            }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(e -> null).get(2, TimeUnit.MINUTES);
+        return new LatencyReport(histograms, errors, duration);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ferreira.dscatalog.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/*
+ * Weighted mix of requests against the product, category and user resources.
+ * Writes only insert or update, so the dataset keeps its size for the whole run.
+ */
+public class Workload {
+
+    private static final String[] SEARCH_TERMS = { "gamer", "smart", "macbook", "lorem", "pc alf" };
+
+    private final String baseUrl;
+    private final long productCount;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public Workload(String baseUrl, long productCount) {
+        this.baseUrl = baseUrl;
+        this.productCount = productCount;
+
+        add("GET /products", 25, random -> get("/products?page=" + random.nextInt(20) + "&size=12&sort=name"));
+        add("GET /products/{id}", 30, random -> get("/products/" + productId(random)));
+        add("GET /products?categoryId", 5, random -> get("/products?categoryId=1,3&mode=any&page=" + random.nextInt(10)));
+        add("GET /products/search", 5, random -> get("/products/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "+")));
+        add("GET /categories", 8, random -> get("/categories?page=0&size=10&sort=name"));
+        add("GET /categories/{id}", 5, random -> get("/categories/" + (1 + random.nextInt(3))));
+        add("GET /users", 4, random -> get("/users?page=0&size=10"));
+        add("GET /users/{id}", 3, random -> get("/users/" + (1 + random.nextInt(2))));
+        add("PUT /products/{id}", 10, random -> send("PUT", "/products/" + productId(random), productJson(random)));
+        add("POST /products", 5, random -> send("POST", "/products", productJson(random)));
+    }
+
+    public Operation next(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private void add(String name, int weight, Function<Random, HttpRequest> factory) {
+        operations.add(new Operation(name, weight, factory));
+        totalWeight += weight;
+    }
+
+    private long productId(Random random) {
+        return 1 + (long) (random.nextDouble() * productCount);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String productJson(Random random) {
+        int n = random.nextInt(1_000_000);
+        return "{\"name\":\"Load product " + n + "\",\"description\":\"Generated by the load test\",\"price\":" + (10 + n % 5000)
+                + ",\"imgUrl\":\"https://example.com/" + n + ".jpg\",\"date\":\"2020-07-13T20:50:07Z\",\"categories\":[{\"id\":" + (1 + n % 3) + "}]}";
+    }
+
+    public static class Operation {
+
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> factory;
+
+        Operation(String name, int weight, Function<Random, HttpRequest> factory) {
+            this.name = name;
+            this.weight = weight;
+            this.factory = factory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HttpRequest request(Random random) {
+            return factory.apply(random);
+        }
+    }
+}
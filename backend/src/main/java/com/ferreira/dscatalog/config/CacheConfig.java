@@ -0,0 +1,45 @@
+package com.ferreira.dscatalog.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.BoundedCacheMetrics;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public BoundedCache<Long, ProductDTO> productCache(
+            @Value("${app.cache.products.max-entries:10000}") long maxEntries,
+            @Value("${app.cache.products.max-weight:64MB}") DataSize maxWeight,
+            @Value("${app.cache.products.ttl:0s}") Duration ttl) {
+        return new BoundedCache<>("products", maxEntries, maxWeight.toBytes(), CacheConfig::weigh, ttl);
+    }
+
+    @Bean
+    public MeterBinder productCacheMetrics(BoundedCache<Long, ProductDTO> productCache) {
+        return new BoundedCacheMetrics(productCache);
+    }
+
+    // Rough retained size in bytes: object headers plus two bytes per char.
+    private static long weigh(ProductDTO dto) {
+        long weight = 160 + 2L * (length(dto.getName()) + length(dto.getDescription()) + length(dto.getImgUrl()));
+        for (CategoryDTO category : dto.getCategories()) {
+            weight += 64 + 2L * length(category.getName());
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
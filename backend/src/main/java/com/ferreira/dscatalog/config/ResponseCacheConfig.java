@@ -0,0 +1,75 @@
+package com.ferreira.dscatalog.config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.ferreira.dscatalog.resources.ResponseCacheFilter;
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.BoundedCacheMetrics;
+import com.ferreira.dscatalog.services.cache.CachedResponse;
+import com.ferreira.dscatalog.services.cache.ResponseCacheInvalidator;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * The filter is registered here rather than as a @Component so that @WebMvcTest slices, which pick up
+ * every Filter bean, do not need the cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    // Entries live for ttl plus stale-ttl; only the first ttl is served without a refresh. Grouped by path for invalidation.
+    @Bean
+    public BoundedCache<String, CachedResponse> responseCache(
+            @Value("${app.response-cache.max-entries:2000}") long maxEntries,
+            @Value("${app.response-cache.max-weight:32MB}") DataSize maxWeight,
+            @Value("${app.response-cache.ttl:5s}") Duration ttl,
+            @Value("${app.response-cache.stale-ttl:60s}") Duration staleTtl) {
+        return new BoundedCache<>("responses", maxEntries, maxWeight.toBytes(), CachedResponse::weight, ttl.plus(staleTtl),
+                CachedResponse::getPath);
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(BoundedCache<String, CachedResponse> responseCache) {
+        return new BoundedCacheMetrics(responseCache);
+    }
+
+    @Bean
+    public ResponseCacheInvalidator responseCacheInvalidator(BoundedCache<String, CachedResponse> responseCache) {
+        return new ResponseCacheInvalidator(responseCache);
+    }
+
+    // The filter owns the refresh pool and shuts it down; as an Executor bean it would replace Boot's task executor
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(BoundedCache<String, CachedResponse> responseCache,
+            @Value("${app.response-cache.ttl:5s}") Duration ttl,
+            @Value("${app.response-cache.refresh-threads:2}") int refreshThreads,
+            @Value("${app.response-cache.refresh-queue-capacity:256}") int refreshQueueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "response-refresh-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        return new ResponseCacheFilter(responseCache, ttl, refreshExecutor);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilterRegistration(ResponseCacheFilter responseCacheFilter) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(responseCacheFilter);
+        registration.addUrlPatterns("/products", "/products/*", "/categories", "/categories/*");
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ferreira.dscatalog.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ferreira.dscatalog.resources.SqlStatsEndpoint;
+import com.ferreira.dscatalog.services.tracing.SqlStatistics;
+import com.ferreira.dscatalog.services.tracing.TracingDataSourcePostProcessor;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql-tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    // Static so that the post-processor does not force this configuration to be created early
+    @Bean
+    public static TracingDataSourcePostProcessor tracingDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new TracingDataSourcePostProcessor(sqlStatistics);
+    }
+
+    @Bean
+    public SqlStatistics sqlStatistics(
+            @Value("${app.sql-tracing.slow-threshold:100ms}") Duration slowThreshold,
+            @Value("${app.sql-tracing.max-fingerprints:1000}") int maxFingerprints) {
+        return new SqlStatistics(slowThreshold, maxFingerprints);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(SqlStatistics sqlStatistics) {
+        return new SqlStatsEndpoint(sqlStatistics);
+    }
+}
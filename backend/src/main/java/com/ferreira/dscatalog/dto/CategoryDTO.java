@@ -1,7 +1,9 @@
 package com.ferreira.dscatalog.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ferreira.dscatalog.entities.Category;
 
 public class CategoryDTO implements Serializable {
@@ -10,6 +12,9 @@ public class CategoryDTO implements Serializable {
     private Long id;
     private String name;
 
+    @JsonIgnore
+    private Instant lastModified;
+
     public CategoryDTO() {
     }
 
@@ -18,9 +23,20 @@ public class CategoryDTO implements Serializable {
         this.name = name;
     }
 
+    public CategoryDTO(Long id, String name, Instant lastModified) {
+        this.id = id;
+        this.name = name;
+        this.lastModified = lastModified;
+    }
+
     public CategoryDTO(Category category) {
         this.id = category.getId();
         this.name = category.getName();
+        this.lastModified = category.getUpdateAt() != null ? category.getUpdateAt() : category.getCreatedAt();
+    }
+
+    public CategoryDTO(CategoryDTO other) {
+        this(other.id, other.name, other.lastModified);
     }
 
     public Long getId() {
@@ -38,4 +54,8 @@ public class CategoryDTO implements Serializable {
     public void setName(String name) {
         this.name = name;
     }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
 }
@@ -0,0 +1,23 @@
+package com.ferreira.dscatalog.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.ferreira.dscatalog.services.CountMode;
+
+public class CountedPageDTO<T> extends PageImpl<T> {
+    private static final long serialVersionUID = 1L;
+
+    private final CountMode countMode;
+
+    public CountedPageDTO(List<T> content, Pageable pageable, long total, CountMode countMode) {
+        super(content, pageable, total);
+        this.countMode = countMode;
+    }
+
+    public String getCountMode() {
+        return countMode.label();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ferreira.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPageDTO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content = new ArrayList<>();
+    private int size;
+    private String nextCursor;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public <U> CursorPageDTO<U> map(Function<? super T, ? extends U> mapper) {
+        List<U> mapped = new ArrayList<>(content.size());
+        content.forEach(x -> mapped.add(mapper.apply(x)));
+        return new CursorPageDTO<>(mapped, size, nextCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ferreira.dscatalog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+public class FacetedPageDTO<T> extends PageImpl<T> {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Long, Long> facets;
+
+    public FacetedPageDTO(List<T> content, Pageable pageable, long total, Map<Long, Long> facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    public Map<Long, Long> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ferreira.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long received;
+    private long inserted;
+    private long failed;
+
+    private List<RowErrorDTO> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void addReceived() {
+        received++;
+    }
+
+    public void addInserted(long count) {
+        inserted += count;
+    }
+
+    // Every failure is counted, but only the first maxErrors are detailed.
+    public void addError(long line, String message, int maxErrors) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowErrorDTO(line, message));
+        }
+    }
+}
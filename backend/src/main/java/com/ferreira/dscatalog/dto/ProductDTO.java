@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ferreira.dscatalog.entities.Category;
 import com.ferreira.dscatalog.entities.Product;
 
@@ -22,6 +23,9 @@ public class ProductDTO implements Serializable {
 
     private List<CategoryDTO> categories = new ArrayList<>();
 
+    @JsonIgnore
+    private Instant lastModified;
+
     public ProductDTO() {
     }
 
@@ -41,11 +45,23 @@ public class ProductDTO implements Serializable {
         this.price = product.getPrice();
         this.imgUrl = product.getImgUrl();
         this.date = product.getDate();
+        this.lastModified = product.getUpdateAt() != null ? product.getUpdateAt() : product.getCreatedAt();
     }
 
     public ProductDTO(Product product, Set<Category> categories){
         this(product);
         categories.forEach(x -> this.categories.add(new CategoryDTO(x)));
+        this.categories.forEach(x -> {
+            if (x.getLastModified() != null && (lastModified == null || x.getLastModified().isAfter(lastModified))) {
+                lastModified = x.getLastModified();
+            }
+        });
+    }
+
+    public ProductDTO(ProductDTO other) {
+        this(other.id, other.name, other.description, other.price, other.imgUrl, other.date);
+        other.categories.forEach(x -> this.categories.add(new CategoryDTO(x)));
+        this.lastModified = other.lastModified;
     }
 
     public Long getId() {
@@ -96,6 +112,10 @@ public class ProductDTO implements Serializable {
         this.date = date;
     }
 
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     public List<CategoryDTO> getCategories() {
         return categories;
     }
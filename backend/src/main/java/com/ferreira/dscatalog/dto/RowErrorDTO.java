@@ -0,0 +1,26 @@
+package com.ferreira.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class RowErrorDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long line;
+    private String message;
+
+    public RowErrorDTO() {
+    }
+
+    public RowErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ferreira.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class SqlFingerprintDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String fingerprint;
+    private long count;
+    private long errors;
+    private long rows;
+    private double totalMillis;
+    private double meanMillis;
+    private double maxMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private long slowCount;
+    private String slowSample;
+    private Double slowSampleMillis;
+    private Instant slowSampleAt;
+
+    public SqlFingerprintDTO() {
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public void setMeanMillis(double meanMillis) {
+        this.meanMillis = meanMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(double p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public void setSlowCount(long slowCount) {
+        this.slowCount = slowCount;
+    }
+
+    public String getSlowSample() {
+        return slowSample;
+    }
+
+    public void setSlowSample(String slowSample) {
+        this.slowSample = slowSample;
+    }
+
+    public Double getSlowSampleMillis() {
+        return slowSampleMillis;
+    }
+
+    public void setSlowSampleMillis(Double slowSampleMillis) {
+        this.slowSampleMillis = slowSampleMillis;
+    }
+
+    public Instant getSlowSampleAt() {
+        return slowSampleAt;
+    }
+
+    public void setSlowSampleAt(Instant slowSampleAt) {
+        this.slowSampleAt = slowSampleAt;
+    }
+}
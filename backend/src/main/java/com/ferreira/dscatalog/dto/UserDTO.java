@@ -1,6 +1,7 @@
 package com.ferreira.dscatalog.dto;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +35,12 @@ public class UserDTO implements Serializable {
         entity.getRoles().forEach(role -> this.roleDTOs.add(new RoleDTO(role)));
     }
 
+    // Takes the role DTOs as given, so shared instances from the role dictionary are not copied
+    public UserDTO(User entity, Collection<RoleDTO> roles) {
+        this(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getEmail());
+        this.roleDTOs.addAll(roles);
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,9 +1,12 @@
 package com.ferreira.dscatalog.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.ferreira.dscatalog.entities.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    Slice<Category> findAllBy(Pageable pageable);
 }
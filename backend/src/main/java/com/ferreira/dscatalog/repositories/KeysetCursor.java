@@ -0,0 +1,120 @@
+package com.ferreira.dscatalog.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/*
+ * Position after the last row of a page: sort key, direction, that row's id and its key value. Rows
+ * without a value sort before all others, so they come first ascending and last descending.
+ */
+public class KeysetCursor {
+
+    private static final String ID = "id";
+
+    private final String property;
+    private final boolean ascending;
+    private final String value;
+    private final Long id;
+
+    private KeysetCursor(String property, boolean ascending, String value, Long id) {
+        this.property = property;
+        this.ascending = ascending;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static KeysetCursor first(Sort sort, Set<String> keys) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        return new KeysetCursor(checkKey(order.getProperty(), keys), order.isAscending(), null, null);
+    }
+
+    public static KeysetCursor decode(String token, Set<String> keys) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // Three parts when the last row had no value for the key, four otherwise
+        String[] parts = raw.split(",", 4);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(checkKey(parts[0], keys), "asc".equals(parts[1]), parts.length == 4 ? parts[3] : null, Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public KeysetCursor next(Object lastRow) {
+        BeanWrapper wrapper = new BeanWrapperImpl(lastRow);
+        return next(wrapper.getPropertyValue(property), (Long) wrapper.getPropertyValue(ID));
+    }
+
+    public KeysetCursor next(Object key, Long lastId) {
+        return new KeysetCursor(property, ascending, key != null ? String.valueOf(key) : null, lastId);
+    }
+
+    public String encode() {
+        String raw = property + "," + (ascending ? "asc" : "desc") + "," + id + (value != null ? "," + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null when the last row had no value for the key
+    public Comparable<?> valueAs(Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (Instant.class.equals(type)) {
+                return Instant.parse(value);
+            }
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            return value;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    public boolean isById() {
+        return ID.equals(property);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    private static String checkKey(String property, Set<String> keys) {
+        String key = StringUtils.uncapitalize(property);
+        if (!ID.equals(key) && !keys.contains(key)) {
+            throw new IllegalArgumentException("Cursor paging is not supported for sort key " + property);
+        }
+        return key;
+    }
+}
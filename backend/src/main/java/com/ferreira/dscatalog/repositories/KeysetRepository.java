@@ -0,0 +1,74 @@
+package com.ferreira.dscatalog.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.ferreira.dscatalog.dto.CursorPageDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+@Repository
+public class KeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> CursorPageDTO<T> findPage(Class<T> type, KeysetCursor cursor, int size) {
+        List<T> rows = findAfter(type, cursor, size + 1);
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, size));
+        String next = cursor.next(content.get(size - 1)).encode();
+        return new CursorPageDTO<>(content, size, next);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> List<T> findAfter(Class<T> type, KeysetCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+
+        if (cursor.isById()) {
+            if (!cursor.isStart()) {
+                predicates.add(cursor.isAscending() ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId()));
+            }
+        } else {
+            Path key = root.get(cursor.getProperty());
+            // Rows without a value sort first: (key IS NULL ? 0 : 1), key, id in the cursor's direction
+            Expression<Integer> present = cb.<Integer>selectCase().when(cb.isNull(key), 0).otherwise(1);
+            if (!cursor.isStart()) {
+                Comparable value = cursor.valueAs(key.getJavaType());
+                Predicate idBeyond = cursor.isAscending() ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+                if (value == null) {
+                    Predicate tie = cb.and(cb.isNull(key), idBeyond);
+                    predicates.add(cursor.isAscending() ? cb.or(cb.isNotNull(key), tie) : tie);
+                } else {
+                    Predicate beyond = cursor.isAscending() ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+                    Predicate tie = cb.and(cb.equal(key, value), idBeyond);
+                    predicates.add(cursor.isAscending() ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(key)));
+                }
+            }
+            orders.add(cursor.isAscending() ? cb.asc(present) : cb.desc(present));
+            orders.add(cursor.isAscending() ? cb.asc(key) : cb.desc(key));
+        }
+        orders.add(cursor.isAscending() ? cb.asc(id) : cb.desc(id));
+
+        query.select(root).where(predicates.toArray(new Predicate[0])).orderBy(orders);
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
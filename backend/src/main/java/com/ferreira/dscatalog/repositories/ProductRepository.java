@@ -1,9 +1,46 @@
 package com.ferreira.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import com.ferreira.dscatalog.entities.Product;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    String IN_CATEGORIES = "SELECT p.id FROM Product p JOIN p.categories c WHERE c.id IN :categoryIds GROUP BY p.id HAVING COUNT(c.id) >= :required";
+
+    Slice<Product> findAllBy(Pageable pageable);
+
+    // Dynamic projection: type is ProductSummaryProjection or a sub-interface
+    <T> Page<T> findAllProjectedBy(Pageable pageable, Class<T> type);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :productIds")
+    List<Product> findProductsWithCategories(List<Long> productIds);
+
+    @Query("SELECT obj.id, cat.id FROM Product obj JOIN obj.categories cat WHERE obj.id BETWEEN :fromId AND :toId")
+    List<Object[]> findCategoryMemberships(Long fromId, Long toId);
+
+    // Products in at least `required` of the given categories: 1 for any, all of them for all. Ordered by id.
+    @Query(value = "SELECT obj.id FROM Product obj WHERE obj.id IN (" + IN_CATEGORIES + ") ORDER BY obj.id",
+            countQuery = "SELECT COUNT(obj) FROM Product obj WHERE obj.id IN (" + IN_CATEGORIES + ")")
+    Page<Long> findIdsInCategories(Collection<Long> categoryIds, long required, Pageable pageable);
+
+    // Per category, how many of the products findIdsInCategories matches belong to it
+    @Query("SELECT cat.id, COUNT(obj) FROM Product obj JOIN obj.categories cat WHERE obj.id IN (" + IN_CATEGORIES + ") GROUP BY cat.id")
+    List<Object[]> countCategoriesOfProductsInCategories(Collection<Long> categoryIds, long required);
+
+    @Query("SELECT obj.id, obj.price FROM Product obj WHERE obj.id BETWEEN :fromId AND :toId AND obj.price IS NOT NULL")
+    List<Object[]> findPrices(Long fromId, Long toId);
+
+    Page<Product> findByPriceBetween(Double minPrice, Double maxPrice, Pageable pageable);
 
+    @Query("SELECT MAX(obj.id) FROM Product obj")
+    Long findMaxId();
 }
@@ -1,9 +1,19 @@
 package com.ferreira.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.ferreira.dscatalog.entities.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    Slice<User> findAllBy(Pageable pageable);
+
+    @Query("SELECT obj.id, role.id FROM User obj JOIN obj.roles role WHERE obj.id IN :userIds")
+    List<Object[]> findRoleIds(Collection<Long> userIds);
 }
@@ -0,0 +1,7 @@
+package com.ferreira.dscatalog.repositories.projections;
+
+// The summary columns plus description, for sparse fieldsets that ask for it
+public interface ProductDetailsProjection extends ProductSummaryProjection {
+
+    String getDescription();
+}
@@ -0,0 +1,20 @@
+package com.ferreira.dscatalog.repositories.projections;
+
+import java.time.Instant;
+
+/*
+ * Closed projection of the list columns of Product: Spring Data selects only these columns, so the
+ * description TEXT column and the entity itself are never loaded.
+ */
+public interface ProductSummaryProjection {
+
+    Long getId();
+
+    String getName();
+
+    Double getPrice();
+
+    String getImgUrl();
+
+    Instant getDate();
+}
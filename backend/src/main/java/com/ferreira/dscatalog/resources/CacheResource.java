@@ -0,0 +1,29 @@
+package com.ferreira.dscatalog.resources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.CacheStats;
+
+@RestController
+@RequestMapping(value = "/caches")
+public class CacheResource {
+
+    @Autowired
+    private List<BoundedCache<?, ?>> caches;
+
+    @GetMapping
+    public ResponseEntity<Map<String, CacheStats>> findAll() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach(x -> stats.put(x.getName(), x.stats()));
+        return ResponseEntity.ok().body(stats);
+    }
+}
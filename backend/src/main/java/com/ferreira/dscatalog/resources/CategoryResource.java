@@ -5,6 +5,7 @@ import java.net.URI;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,10 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.ferreira.dscatalog.dto.CursorPageDTO;
 import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.services.CountMode;
 import com.ferreira.dscatalog.services.CategoryService;
 
 @RestController
@@ -27,15 +31,27 @@ public class CategoryResource {
     private CategoryService service;
 
     @GetMapping
-    public ResponseEntity<Page<CategoryDTO>> findAllPaged(Pageable pageable) {
-        Page<CategoryDTO> list = service.findAllPaged(pageable);
+    public ResponseEntity<Page<CategoryDTO>> findAllPaged(Pageable pageable, @RequestParam(required = false) String count) {
+        Page<CategoryDTO> list = count == null ? service.findAllPaged(pageable) : service.findAllPaged(pageable, CountMode.of(count));
+        ContentHash hash = new ContentHash().add(list.getTotalElements()).add(list.getNumber()).add(list.getSize()).add(list.getSort());
+        list.forEach(x -> hash.add(x));
+        return ResponseEntity.ok().eTag(hash.toETag()).varyBy(HttpHeaders.ACCEPT).body(list);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllSeek(@RequestParam String after, Pageable pageable) {
+        CursorPageDTO<CategoryDTO> list = service.findAllSeek(after, pageable);
         return ResponseEntity.ok().body(list);
     }
 
     @GetMapping(value = "/{id}")
     public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
         CategoryDTO dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(new ContentHash().add(dto).toETag()).varyBy(HttpHeaders.ACCEPT);
+        if (dto.getLastModified() != null) {
+            response.lastModified(dto.getLastModified());
+        }
+        return response.body(dto);
     }
 
     @PostMapping
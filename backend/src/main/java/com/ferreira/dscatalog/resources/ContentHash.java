@@ -0,0 +1,42 @@
+package com.ferreira.dscatalog.resources;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+/*
+ * 64-bit FNV-1a over the fields of a representation, used as a weak ETag.
+ * Hashing the fields instead of the serialized body lets a 304 skip serialization. The same fields are
+ * sent as JSON, CBOR, Smile or protobuf, so the tag is weak and the response varies by Accept.
+ */
+public class ContentHash {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    public ContentHash add(Object value) {
+        String text = String.valueOf(value);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            hash = (hash ^ (c & 0xff)) * PRIME;
+            hash = (hash ^ (c >>> 8)) * PRIME;
+        }
+        hash = (hash ^ 0x1f) * PRIME;
+        return this;
+    }
+
+    public ContentHash add(ProductDTO dto) {
+        add(dto.getId()).add(dto.getName()).add(dto.getDescription()).add(dto.getPrice()).add(dto.getImgUrl()).add(dto.getDate());
+        dto.getCategories().forEach(x -> add(x));
+        return this;
+    }
+
+    public ContentHash add(CategoryDTO dto) {
+        return add(dto.getId()).add(dto.getName());
+    }
+
+    public String toETag() {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,52 @@
+package com.ferreira.dscatalog.resources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ferreira.dscatalog.dto.ImportReportDTO;
+import com.ferreira.dscatalog.services.ProductExportService;
+import com.ferreira.dscatalog.services.ProductImportService;
+
+@RestController
+@RequestMapping(value = "/products")
+public class ProductBulkResource {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<ImportReportDTO> bulkInsert(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ImportReportDTO report = importService.importProducts(body, MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok().body(report);
+    }
+
+    // The body is written after the handler returns, so the content type has to be set on the entity
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.body(out -> exportService.export(out));
+        }
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, 8192, true);
+            exportService.export(gzip);
+            gzip.finish();
+        };
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body);
+    }
+}
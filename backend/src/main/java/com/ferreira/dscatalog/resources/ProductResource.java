@@ -1,23 +1,36 @@
 package com.ferreira.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
+import com.ferreira.dscatalog.dto.FacetedPageDTO;
 import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.CountMode;
+import com.ferreira.dscatalog.services.MergePatch;
 import com.ferreira.dscatalog.services.ProductService;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -27,15 +40,73 @@ public class ProductResource {
     private ProductService service;
 
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> findAllPaged(Pageable pageable) {
-        Page<ProductDTO> list = service.findAllPaged(pageable);
+    public ResponseEntity<Page<ProductDTO>> findAllPaged(Pageable pageable,
+            @RequestParam(required = false) String count,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(defaultValue = "any") String mode,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        Page<ProductDTO> list;
+        if (minPrice != null || maxPrice != null) {
+            if (categoryId != null) {
+                throw new InvalidRequestException("categoryId cannot be combined with minPrice or maxPrice");
+            }
+            list = service.findByPriceRange(minPrice, maxPrice, pageable);
+        } else if (categoryId != null) {
+            if (!"any".equals(mode) && !"all".equals(mode)) {
+                throw new InvalidRequestException("Unsupported mode " + mode);
+            }
+            list = service.findByCategories(categoryId, "all".equals(mode), pageable);
+        } else {
+            CountMode countMode = count == null ? null : CountMode.of(count);
+            if (expand != null) {
+                if (!"categories".equals(expand)) {
+                    throw new InvalidRequestException("Unsupported expand " + expand);
+                }
+                list = service.findAllPagedWithCategories(pageable, countMode);
+            } else {
+                list = countMode == null ? service.findAllPaged(pageable) : service.findAllPaged(pageable, countMode);
+            }
+        }
+        return ResponseEntity.ok().eTag(pageETag(list)).varyBy(HttpHeaders.ACCEPT).body(list);
+    }
+
+    @GetMapping(params = { "fields", "!after" })
+    public ResponseEntity<Page<Map<String, Object>>> findAllFields(@RequestParam Set<String> fields, Pageable pageable,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        if (expand != null || categoryId != null || minPrice != null || maxPrice != null) {
+            throw new InvalidRequestException("fields cannot be combined with expand, categoryId, minPrice or maxPrice");
+        }
+        Page<Map<String, Object>> list = service.findAllFields(pageable, fields);
+        ContentHash hash = new ContentHash().add(list.getTotalElements()).add(list.getNumber()).add(list.getSize()).add(list.getSort());
+        list.forEach(x -> hash.add(x));
+        return ResponseEntity.ok().eTag(hash.toETag()).varyBy(HttpHeaders.ACCEPT).body(list);
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<Page<ProductDTO>> search(@RequestParam(defaultValue = "") String q, Pageable pageable) {
+        Page<ProductDTO> list = service.search(q, pageable);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> findAllSeek(@RequestParam String after, Pageable pageable) {
+        CursorPageDTO<ProductDTO> list = service.findAllSeek(after, pageable);
         return ResponseEntity.ok().body(list);
     }
 
     @GetMapping(value = "/{id}")
     public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
         ProductDTO dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(new ContentHash().add(dto).toETag()).varyBy(HttpHeaders.ACCEPT);
+        if (dto.getLastModified() != null) {
+            response.lastModified(dto.getLastModified());
+        }
+        return response.body(dto);
     }
 
     @PostMapping
@@ -51,9 +122,30 @@ public class ProductResource {
         return ResponseEntity.ok().body(dto);
     }
 
+    @PatchMapping(value = "/{id}", consumes = { MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<ProductDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch) {
+        ProductDTO dto = service.patch(id, patch);
+        return ResponseEntity.ok().body(dto);
+    }
+
+    @PatchMapping(consumes = { MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<List<ProductDTO>> patchAll(@RequestBody List<JsonNode> patches) {
+        List<ProductDTO> list = service.patchAll(patches);
+        return ResponseEntity.ok().body(list);
+    }
+
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String pageETag(Page<ProductDTO> page) {
+        ContentHash hash = new ContentHash().add(page.getTotalElements()).add(page.getNumber()).add(page.getSize()).add(page.getSort());
+        page.forEach(x -> hash.add(x));
+        if (page instanceof FacetedPageDTO<ProductDTO> faceted) {
+            hash.add(faceted.getFacets());
+        }
+        return hash.toETag();
+    }
 }
@@ -0,0 +1,40 @@
+package com.ferreira.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.ReactiveProductService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(value = "/rx/products")
+public class ReactiveProductResource {
+
+    @Autowired
+    private ReactiveProductService service;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Page<ProductDTO>> findAllPaged(Pageable pageable) {
+        return service.findAllPaged(pageable);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDTO> streamAll(Sort sort) {
+        return service.findAll(sort);
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ProductDTO> findById(@PathVariable Long id) {
+        return service.findById(id);
+    }
+}
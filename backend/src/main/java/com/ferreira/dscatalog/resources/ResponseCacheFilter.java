@@ -0,0 +1,225 @@
+package com.ferreira.dscatalog.resources;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.CachedResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Serves anonymous GETs of product and category reads from stored response bytes. Entries are keyed
+ * by path, sorted query parameters and Accept, and are written as they were stored, gzip included,
+ * without going through the controller or Jackson. Stale entries are served as they are, and the first
+ * request to find one schedules a refresh on the refresh executor.
+ *
+ * The servlet request and filter chain are recycled once the response is complete, so a refresh is a
+ * new GET sent back to the connector that received the stale request. It carries this filter's random
+ * token, which makes it go through the handler and replace the entry whatever the cache holds.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+    static final String REFRESH_HEADER = "X-Cache-Refresh";
+
+    // Hits and misses must vary alike, or a shared cache could reuse a miss for another encoding
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    private static final Pattern CACHEABLE = Pattern.compile("/(products|categories)(/\\d+)?");
+
+    private static final Duration REFRESH_TIMEOUT = Duration.ofSeconds(30);
+
+    final String refreshToken = UUID.randomUUID().toString();
+    private final BoundedCache<String, CachedResponse> cache;
+    private final long freshNanos;
+    private final ExecutorService refreshExecutor;
+    private final HttpClient client;
+
+    public ResponseCacheFilter(BoundedCache<String, CachedResponse> cache, Duration freshFor, ExecutorService refreshExecutor) {
+        this.cache = cache;
+        this.freshNanos = freshFor.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.client = HttpClient.newBuilder().connectTimeout(REFRESH_TIMEOUT).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !CACHEABLE.matcher(path(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = path(request);
+        String key = key(path, request);
+        if (refreshToken.equals(request.getHeader(REFRESH_HEADER))) {
+            fill(path, key, request, response, chain, "REFRESH");
+            return;
+        }
+        CachedResponse cached = cache.get(key);
+        if (cached == null) {
+            fill(path, key, request, response, chain, "MISS");
+            return;
+        }
+        boolean fresh = cached.isFresh();
+        if (!fresh && cached.startRefresh()) {
+            refresh(cached, request);
+        }
+        write(cached, request, response, fresh ? "HIT" : "STALE");
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refresh(CachedResponse cached, HttpServletRequest request) {
+        String host = request.getLocalAddr().contains(":") ? "[" + request.getLocalAddr() + "]" : request.getLocalAddr();
+        String query = request.getQueryString() != null ? "?" + request.getQueryString() : "";
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getScheme() + "://" + host + ":" + request.getLocalPort()
+                + request.getRequestURI() + query)).timeout(REFRESH_TIMEOUT).header(REFRESH_HEADER, refreshToken);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            builder.header(HttpHeaders.ACCEPT, accept);
+        }
+        HttpRequest refresh = builder.build();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    client.send(refresh, HttpResponse.BodyHandlers.discarding());
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Could not refresh " + cached.getPath(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    cached.refreshDone();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Busy refreshing other entries: a later request for this one tries again
+            cached.refreshDone();
+        }
+    }
+
+    private void fill(String path, String key, HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+            String state) throws ServletException, IOException {
+        // Taken before the read so that an invalidation racing with it wins
+        long stamp = cache.stamp();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(HttpHeaders.VARY, VARY);
+        wrapper.setHeader(CACHE_HEADER, state);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpStatus.OK.value() && isJson(wrapper.getContentType())
+                && wrapper.getHeader(HttpHeaders.SET_COOKIE) == null) {
+            cache.put(key, new CachedResponse(path, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                    wrapper.getHeader(HttpHeaders.LAST_MODIFIED), wrapper.getContentAsByteArray(),
+                    System.nanoTime() + freshNanos), stamp);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response, String state)
+            throws IOException {
+        response.setHeader(CACHE_HEADER, state);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (cached.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.getETag());
+        }
+        if (cached.getLastModified() != null) {
+            response.setHeader(HttpHeaders.LAST_MODIFIED, cached.getLastModified());
+        }
+        // As in RFC 9110, If-Modified-Since only counts when there is no If-None-Match
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null ? matches(ifNoneMatch, cached.getETag())
+                : notModifiedSince(request.getHeader(HttpHeaders.IF_MODIFIED_SINCE), cached.getLastModified())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        byte[] body = cached.getBody();
+        if (cached.getGzipBody() != null && AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String key(String path, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(encode(param.getKey())).append('=').append(encode(value));
+                separator = '&';
+            }
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return key.append(' ').append(accept != null ? accept : MediaType.ALL_VALUE).toString();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    // If-None-Match uses weak comparison: W/"x" and "x" match
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String opaque = opaque(eTag);
+        return Arrays.stream(ifNoneMatch.split(",")).map(String::trim).anyMatch(x -> x.equals("*") || opaque(x).equals(opaque));
+    }
+
+    private static boolean notModifiedSince(String ifModifiedSince, String lastModified) {
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        try {
+            return !ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .isAfter(ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String opaque(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
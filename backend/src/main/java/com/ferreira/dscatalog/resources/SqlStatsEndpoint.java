@@ -0,0 +1,32 @@
+package com.ferreira.dscatalog.resources;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import com.ferreira.dscatalog.dto.SqlFingerprintDTO;
+import com.ferreira.dscatalog.services.tracing.SqlStatistics;
+
+// GET /actuator/sqlstats?limit=20 lists the statement fingerprints with the highest total time.
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatistics statistics;
+
+    public SqlStatsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public List<SqlFingerprintDTO> top(@Nullable Integer limit) {
+        return statistics.top(limit != null ? limit : 20);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -1,10 +1,12 @@
 package com.ferreira.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.ferreira.dscatalog.dto.UserDTO;
 import com.ferreira.dscatalog.dto.UserInsertDTO;
+import com.ferreira.dscatalog.services.CountMode;
 import com.ferreira.dscatalog.services.UserService;
 
 @RestController
@@ -28,8 +32,8 @@ public class UserResource {
     private UserService service;
 
     @GetMapping
-    public ResponseEntity<Page<UserDTO>> findAllPaged(Pageable pageable) {
-        Page<UserDTO> list = service.findAllPaged(pageable);
+    public ResponseEntity<Page<UserDTO>> findAllPaged(Pageable pageable, @RequestParam(required = false) String count) {
+        Page<UserDTO> list = count == null ? service.findAllPaged(pageable) : service.findAllPaged(pageable, CountMode.of(count));
         return ResponseEntity.ok().body(list);
     }
 
@@ -46,6 +50,12 @@ public class UserResource {
         return ResponseEntity.created(uri).body(newDTO);
     }
 
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<UserDTO>> insertAll(@RequestBody List<UserInsertDTO> dtos) {
+        List<UserDTO> list = service.insertAll(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(list);
+    }
+
     @PutMapping(value = "/{id}")
     public ResponseEntity<UserDTO> update(@PathVariable Long id, @RequestBody UserDTO userDTO) {
         userDTO = service.update(id, userDTO);
@@ -0,0 +1,269 @@
+package com.ferreira.dscatalog.resources.protobuf;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.FacetedPageDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.dto.UserDTO;
+
+/*
+ * Hand-written codec for the messages of src/main/proto/catalog.proto. Every field is read and written
+ * through plain getters and setters, so there is no reflection and no generated code.
+ */
+public final class CatalogProto {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private static final List<Class<?>> MESSAGE_TYPES = List.of(ProductDTO.class, CategoryDTO.class, UserDTO.class);
+
+    private CatalogProto() {
+    }
+
+    // Single DTOs, and pages or lists of them
+    public static boolean canEncode(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        if (raw == null) {
+            return false;
+        }
+        if (Page.class.isAssignableFrom(raw) || Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = type.as(Page.class.isAssignableFrom(raw) ? Page.class : Collection.class).resolveGeneric(0);
+            return element != null && isMessage(element);
+        }
+        return isMessage(raw);
+    }
+
+    public static boolean canDecode(Class<?> type) {
+        return type == ProductDTO.class || type == CategoryDTO.class;
+    }
+
+    public static byte[] encode(Object value) {
+        ProtoWriter writer = new ProtoWriter(256);
+        if (value instanceof ProductDTO dto) {
+            writeProductFields(writer, dto);
+        } else if (value instanceof CategoryDTO dto) {
+            writeCategoryFields(writer, dto);
+        } else if (value instanceof UserDTO dto) {
+            writeUserFields(writer, dto);
+        } else if (value instanceof Page<?> page) {
+            writeContent(writer, page.getContent());
+            writer.int32(4, page.getNumber());
+            writer.int32(5, page.getSize());
+            writer.int64(6, page.getTotalElements());
+            writer.int32(7, page.getTotalPages());
+            if (page instanceof FacetedPageDTO<?> faceted && faceted.getFacets() != null) {
+                faceted.getFacets().forEach((key, count) -> {
+                    int entry = writer.beginMessage(8);
+                    writer.int64(1, key);
+                    writer.int64(2, count);
+                    writer.endMessage(entry);
+                });
+            }
+        } else if (value instanceof Collection<?> list) {
+            writeContent(writer, list);
+        } else {
+            throw new IllegalArgumentException("No protobuf message for " + value.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    public static ProductDTO decodeProduct(byte[] bytes) {
+        return readProduct(new ProtoReader(bytes));
+    }
+
+    public static CategoryDTO decodeCategory(byte[] bytes) {
+        return readCategory(new ProtoReader(bytes));
+    }
+
+    public static UserDTO decodeUser(byte[] bytes) {
+        return readUser(new ProtoReader(bytes));
+    }
+
+    /*
+     * The content holds whichever message type the page was written with. Sort order is not part of the
+     * envelope, so the page request of the result is unsorted.
+     */
+    public static Page<Object> decodePage(byte[] bytes) {
+        ProtoReader reader = new ProtoReader(bytes);
+        List<Object> content = new ArrayList<>();
+        Map<Long, Long> facets = null;
+        int number = 0;
+        int size = 0;
+        long totalElements = 0;
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> content.add(readProduct(reader.message()));
+                case 2 -> content.add(readCategory(reader.message()));
+                case 3 -> content.add(readUser(reader.message()));
+                case 4 -> number = reader.int32();
+                case 5 -> size = reader.int32();
+                case 6 -> totalElements = reader.int64();
+                case 8 -> {
+                    ProtoReader entry = reader.message();
+                    long key = 0;
+                    long count = 0;
+                    while (entry.next()) {
+                        switch (entry.field()) {
+                            case 1 -> key = entry.int64();
+                            case 2 -> count = entry.int64();
+                            default -> entry.skip();
+                        }
+                    }
+                    if (facets == null) {
+                        facets = new LinkedHashMap<>();
+                    }
+                    facets.put(key, count);
+                }
+                default -> reader.skip();
+            }
+        }
+        if (size == 0) {
+            return new PageImpl<>(content);
+        }
+        Pageable pageable = PageRequest.of(number, size);
+        return facets != null ? new FacetedPageDTO<>(content, pageable, totalElements, facets) : new PageImpl<>(content, pageable, totalElements);
+    }
+
+    private static boolean isMessage(Class<?> type) {
+        return MESSAGE_TYPES.stream().anyMatch(x -> x.isAssignableFrom(type));
+    }
+
+    private static void writeContent(ProtoWriter writer, Collection<?> content) {
+        for (Object item : content) {
+            if (item instanceof ProductDTO dto) {
+                int start = writer.beginMessage(1);
+                writeProductFields(writer, dto);
+                writer.endMessage(start);
+            } else if (item instanceof CategoryDTO dto) {
+                int start = writer.beginMessage(2);
+                writeCategoryFields(writer, dto);
+                writer.endMessage(start);
+            } else if (item instanceof UserDTO dto) {
+                int start = writer.beginMessage(3);
+                writeUserFields(writer, dto);
+                writer.endMessage(start);
+            } else {
+                throw new IllegalArgumentException("No protobuf message for " + item.getClass().getName());
+            }
+        }
+    }
+
+    private static void writeProductFields(ProtoWriter writer, ProductDTO dto) {
+        writer.int64(1, dto.getId());
+        writer.string(2, dto.getName());
+        writer.string(3, dto.getDescription());
+        writer.doubleValue(4, dto.getPrice());
+        writer.string(5, dto.getImgUrl());
+        Instant date = dto.getDate();
+        if (date != null) {
+            int start = writer.beginMessage(6);
+            writer.int64(1, date.getEpochSecond());
+            writer.int32(2, date.getNano());
+            writer.endMessage(start);
+        }
+        for (CategoryDTO category : dto.getCategories()) {
+            int start = writer.beginMessage(7);
+            writeCategoryFields(writer, category);
+            writer.endMessage(start);
+        }
+    }
+
+    private static void writeCategoryFields(ProtoWriter writer, CategoryDTO dto) {
+        writer.int64(1, dto.getId());
+        writer.string(2, dto.getName());
+    }
+
+    private static void writeUserFields(ProtoWriter writer, UserDTO dto) {
+        writer.int64(1, dto.getId());
+        writer.string(2, dto.getFirstName());
+        writer.string(3, dto.getLastName());
+        writer.string(4, dto.getEmail());
+        for (RoleDTO role : dto.getRoleDTOs()) {
+            int start = writer.beginMessage(5);
+            writer.int64(1, role.getId());
+            writer.string(2, role.getAuthority());
+            writer.endMessage(start);
+        }
+    }
+
+    private static ProductDTO readProduct(ProtoReader reader) {
+        ProductDTO dto = new ProductDTO();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> dto.setId(reader.int64());
+                case 2 -> dto.setName(reader.string());
+                case 3 -> dto.setDescription(reader.string());
+                case 4 -> dto.setPrice(reader.doubleValue());
+                case 5 -> dto.setImgUrl(reader.string());
+                case 6 -> dto.setDate(readTimestamp(reader.message()));
+                case 7 -> dto.getCategories().add(readCategory(reader.message()));
+                default -> reader.skip();
+            }
+        }
+        return dto;
+    }
+
+    private static CategoryDTO readCategory(ProtoReader reader) {
+        CategoryDTO dto = new CategoryDTO();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> dto.setId(reader.int64());
+                case 2 -> dto.setName(reader.string());
+                default -> reader.skip();
+            }
+        }
+        return dto;
+    }
+
+    private static UserDTO readUser(ProtoReader reader) {
+        UserDTO dto = new UserDTO();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> dto.setId(reader.int64());
+                case 2 -> dto.setFirstName(reader.string());
+                case 3 -> dto.setLastName(reader.string());
+                case 4 -> dto.setEmail(reader.string());
+                case 5 -> dto.getRoleDTOs().add(readRole(reader.message()));
+                default -> reader.skip();
+            }
+        }
+        return dto;
+    }
+
+    private static RoleDTO readRole(ProtoReader reader) {
+        RoleDTO dto = new RoleDTO();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> dto.setId(reader.int64());
+                case 2 -> dto.setAuthority(reader.string());
+                default -> reader.skip();
+            }
+        }
+        return dto;
+    }
+
+    private static Instant readTimestamp(ProtoReader reader) {
+        long seconds = 0;
+        int nanos = 0;
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> seconds = reader.int64();
+                case 2 -> nanos = reader.int32();
+                default -> reader.skip();
+            }
+        }
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ferreira.dscatalog.resources.protobuf;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Minimal protobuf wire-format reader. Nested messages are read through views over the same array,
+ * so decoding does not copy message bodies.
+ */
+final class ProtoReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private int tag;
+
+    ProtoReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    private ProtoReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    // Advances to the next field; false at the end of the message
+    boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        tag = (int) varint();
+        return true;
+    }
+
+    int field() {
+        return tag >>> 3;
+    }
+
+    long int64() {
+        return varint();
+    }
+
+    int int32() {
+        return (int) varint();
+    }
+
+    double doubleValue() {
+        check(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (buffer[position++] & 0xFFL) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String string() {
+        int length = length();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    ProtoReader message() {
+        int length = length();
+        ProtoReader reader = new ProtoReader(buffer, position, position + length);
+        position += length;
+        return reader;
+    }
+
+    // Unknown fields are skipped, so newer writers can add fields
+    void skip() {
+        switch (tag & 0x7) {
+            case ProtoWriter.VARINT -> varint();
+            case ProtoWriter.FIXED64 -> advance(8);
+            case ProtoWriter.LENGTH_DELIMITED -> advance(length());
+            case 5 -> advance(4);
+            default -> throw new IllegalArgumentException("Unsupported wire type " + (tag & 0x7));
+        }
+    }
+
+    private int length() {
+        long length = varint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Truncated protobuf message");
+        }
+        return (int) length;
+    }
+
+    private long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            check(1);
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private void advance(int bytes) {
+        check(bytes);
+        position += bytes;
+    }
+
+    private void check(int bytes) {
+        if (limit - position < bytes) {
+            throw new IllegalArgumentException("Truncated protobuf message");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ferreira.dscatalog.resources.protobuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ * Minimal protobuf wire-format writer over a growable byte array. Nested messages are written in place:
+ * five bytes are reserved for the length prefix and the body is shifted left once its size is known.
+ */
+final class ProtoWriter {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+
+    private static final int MAX_LENGTH_PREFIX = 5;
+
+    private byte[] buffer;
+    private int position;
+
+    ProtoWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void int64(int field, Long value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint(value);
+        }
+    }
+
+    // Proto3 default: zero is not written
+    void int64(int field, long value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+    }
+
+    void int32(int field, int value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+    }
+
+    void doubleValue(int field, Double value) {
+        if (value != null) {
+            tag(field, FIXED64);
+            long bits = Double.doubleToRawLongBits(value);
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (bits >>> (8 * i));
+            }
+        }
+    }
+
+    void string(int field, String value) {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, LENGTH_DELIMITED);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    // Returns the start of the message body, to be passed to endMessage
+    int beginMessage(int field) {
+        tag(field, LENGTH_DELIMITED);
+        ensure(MAX_LENGTH_PREFIX);
+        position += MAX_LENGTH_PREFIX;
+        return position;
+    }
+
+    void endMessage(int start) {
+        int length = position - start;
+        int prefix = varintSize(length);
+        int shift = MAX_LENGTH_PREFIX - prefix;
+        if (shift > 0) {
+            System.arraycopy(buffer, start, buffer, start - shift, length);
+        }
+        int end = position - shift;
+        position = start - MAX_LENGTH_PREFIX;
+        varint(length);
+        position = end;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void tag(int field, int wireType) {
+        varint((field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
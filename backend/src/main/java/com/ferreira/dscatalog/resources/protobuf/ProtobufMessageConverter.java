@@ -0,0 +1,77 @@
+package com.ferreira.dscatalog.resources.protobuf;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+
+/*
+ * application/x-protobuf for the catalog DTOs and their pages, through CatalogProto. Registered after
+ * the JSON converter, so it is only chosen when a client asks for protobuf.
+ */
+public class ProtobufMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public ProtobufMessageConverter() {
+        super(MediaType.parseMediaType(CatalogProto.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CatalogProto.canEncode(ResolvableType.forClass(clazz)) || CatalogProto.canDecode(clazz);
+    }
+
+    /*
+     * Spring asks for the producible media types by the value's class alone, which for a page or list
+     * does not say what it holds. canWrite(Type, ...) below decides from the declared type.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        if (Page.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)) {
+            return getSupportedMediaTypes();
+        }
+        return super.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // The declared type, such as Page<ProductDTO>, carries the element type that the value's class lacks
+        return CatalogProto.canEncode(ResolvableType.forType(type != null ? type : clazz)) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type instanceof Class<?> clazz && CatalogProto.canDecode(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = CatalogProto.encode(value);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal((Class<?>) type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = inputMessage.getBody().readAllBytes();
+        try {
+            return clazz == CategoryDTO.class ? CatalogProto.decodeCategory(bytes) : CatalogProto.decodeProduct(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+}
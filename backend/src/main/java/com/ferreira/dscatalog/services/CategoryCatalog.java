@@ -0,0 +1,191 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.repositories.CategoryRepository;
+import com.ferreira.dscatalog.repositories.KeysetCursor;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
+
+/*
+ * Immutable copy of tb_category held in memory. Reads only dereference a volatile snapshot;
+ * the snapshot is reloaded in its own read-only transaction after every committed category change.
+ */
+@Component
+public class CategoryCatalog {
+
+    private static final Map<String, Function<Entry, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", x -> x.id,
+            "name", x -> x.name,
+            "createdAt", x -> x.createdAt,
+            "updateAt", x -> x.updateAt);
+    private static final Map<String, Class<?>> SORT_KEY_TYPES = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "createdAt", Instant.class,
+            "updateAt", Instant.class);
+
+    @Autowired
+    private CategoryRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CategoryCatalog(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    public Optional<CategoryDTO> findById(Long id) {
+        Entry entry = snapshot().byId.get(id);
+        return Optional.ofNullable(entry).map(Entry::toDTO);
+    }
+
+    public boolean contains(Long id) {
+        return id != null && snapshot().byId.containsKey(id);
+    }
+
+    public Page<CategoryDTO> findAll(Pageable pageable) {
+        List<Entry> entries = snapshot().sorted;
+        if (pageable.getSort().isSorted()) {
+            entries = entries.stream().sorted(comparator(pageable.getSort())).toList();
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(entries.stream().map(Entry::toDTO).toList(), pageable, entries.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), entries.size());
+        int to = Math.min(from + pageable.getPageSize(), entries.size());
+        List<CategoryDTO> content = entries.subList(from, to).stream().map(Entry::toDTO).toList();
+        return new PageImpl<>(content, pageable, entries.size());
+    }
+
+    // Same order and cursors as KeysetRepository: rows without a value first ascending, then by id
+    public CursorPageDTO<CategoryDTO> findPage(KeysetCursor cursor, int size) {
+        Function<Entry, Comparable<?>> key = SORT_KEYS.get(cursor.getProperty());
+        Comparator<Entry> order = Comparator.<Entry, Comparable<?>>comparing(key, (a, b) -> compare(a, b, false)).thenComparing(x -> x.id);
+        Stream<Entry> entries = snapshot().sorted.stream().sorted(cursor.isAscending() ? order : order.reversed());
+        if (!cursor.isStart()) {
+            Comparable<?> value = cursor.valueAs(SORT_KEY_TYPES.get(cursor.getProperty()));
+            entries = entries.filter(x -> {
+                int result = compare(key.apply(x), value, false);
+                result = result != 0 ? result : x.id.compareTo(cursor.getId());
+                return cursor.isAscending() ? result > 0 : result < 0;
+            });
+        }
+        List<Entry> rows = entries.limit(size + 1L).toList();
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows.stream().map(Entry::toDTO).toList(), size, null);
+        }
+        Entry last = rows.get(size - 1);
+        String next = cursor.next(key.apply(last), last.id).encode();
+        return new CursorPageDTO<>(rows.subList(0, size).stream().map(Entry::toDTO).toList(), size, next);
+    }
+
+    public long count() {
+        return snapshot().sorted.size();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private Snapshot reload() {
+        reloadLock.lock();
+        try {
+            List<Category> categories = transactionTemplate.execute(status -> repository.findAll(Sort.by("id")));
+            Map<Long, Entry> byId = new LinkedHashMap<>();
+            categories.forEach(x -> byId.put(x.getId(), new Entry(x)));
+            Snapshot loaded = new Snapshot(byId);
+            snapshot = loaded;
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static Comparator<Entry> comparator(Sort sort) {
+        Comparator<Entry> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<Entry, Comparable<?>> key = SORT_KEYS.get(StringUtils.uncapitalize(order.getProperty()));
+            if (key == null) {
+                throw new InvalidRequestException("Unsupported sort property " + order.getProperty());
+            }
+            boolean ignoreCase = order.isIgnoreCase();
+            Comparator<Entry> next = (a, b) -> compare(key.apply(a), key.apply(b), ignoreCase);
+            result = result.thenComparing(order.isDescending() ? next.reversed() : next);
+        }
+        return result.thenComparing(x -> x.id);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Comparable<?> a, Comparable<?> b, boolean ignoreCase) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? -1 : 1;
+        }
+        if (ignoreCase && a instanceof String x && b instanceof String y) {
+            return x.compareToIgnoreCase(y);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static final class Snapshot {
+
+        private final Map<Long, Entry> byId;
+        private final List<Entry> sorted;
+
+        Snapshot(Map<Long, Entry> byId) {
+            this.byId = Map.copyOf(byId);
+            this.sorted = List.copyOf(byId.values());
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final String name;
+        private final Instant createdAt;
+        private final Instant updateAt;
+
+        Entry(Category category) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.createdAt = category.getCreatedAt();
+            this.updateAt = category.getUpdateAt();
+        }
+
+        CategoryDTO toDTO() {
+            return new CategoryDTO(id, name, updateAt != null ? updateAt : createdAt);
+        }
+    }
+}
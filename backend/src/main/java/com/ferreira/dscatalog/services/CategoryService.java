@@ -1,18 +1,29 @@
 package com.ferreira.dscatalog.services;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.CountedPageDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
 import com.ferreira.dscatalog.entities.Category;
 import com.ferreira.dscatalog.repositories.CategoryRepository;
+import com.ferreira.dscatalog.repositories.KeysetCursor;
+import com.ferreira.dscatalog.repositories.KeysetRepository;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
 import com.ferreira.dscatalog.services.exceptions.DatabaseException;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -20,20 +31,59 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 public class CategoryService {
 
+    private static final Set<String> SEEK_KEYS = Set.of("name", "createdAt");
+
     @Autowired
     private CategoryRepository repository;
 
-    @Transactional(readOnly = true)
+    @Autowired
+    private KeysetRepository keysetRepository;
+
+    @Autowired
+    private CountProvider countProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
     public Page<CategoryDTO> findAllPaged(Pageable pageable) {
-        Page<Category> list = repository.findAll(pageable);
-        return list.map(x -> new CategoryDTO(x));
+        if (inWritingTransaction()) {
+            return repository.findAll(pageable).map(x -> new CategoryDTO(x));
+        }
+        return catalog.findAll(pageable);
+    }
+
+    public Page<CategoryDTO> findAllPaged(Pageable pageable, CountMode countMode) {
+        if (inWritingTransaction()) {
+            Slice<CategoryDTO> slice = repository.findAllBy(pageable).map(x -> new CategoryDTO(x));
+            return countProvider.toPage(slice, Category.class, countMode, repository::count);
+        }
+        Page<CategoryDTO> page = catalog.findAll(pageable);
+        return new CountedPageDTO<>(page.getContent(), pageable, page.getTotalElements(), countMode);
+    }
+
+    public CursorPageDTO<CategoryDTO> findAllSeek(String after, Pageable pageable) {
+        try {
+            KeysetCursor cursor = after.isBlank() ? KeysetCursor.first(pageable.getSort(), SEEK_KEYS) : KeysetCursor.decode(after, SEEK_KEYS);
+            if (!inWritingTransaction()) {
+                return catalog.findPage(cursor, pageable.getPageSize());
+            }
+            CursorPageDTO<Category> page = keysetRepository.findPage(Category.class, cursor, pageable.getPageSize());
+            return page.map(x -> new CategoryDTO(x));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
     }
 
-    @Transactional(readOnly = true)
     public CategoryDTO findById(Long id) {
-        Optional<Category> obj = repository.findById(id);
-        Category entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-        return new CategoryDTO(entity);
+        if (inWritingTransaction()) {
+            Optional<Category> obj = repository.findById(id);
+            Category entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+            return new CategoryDTO(entity);
+        }
+        return catalog.findById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
     }
 
     @Transactional
@@ -41,6 +91,7 @@ public class CategoryService {
         Category entity = new Category();
         entity.setName(dto.getName());
         entity = repository.save(entity);
+        eventPublisher.publishEvent(new CategoryChangedEvent(entity.getId(), ChangeType.CREATED));
         return new CategoryDTO(entity);
     }
 
@@ -50,6 +101,7 @@ public class CategoryService {
             Category entity = repository.getReferenceById(id);
             entity.setName(dto.getName());
             entity = repository.save(entity);
+            eventPublisher.publishEvent(new CategoryChangedEvent(entity.getId(), ChangeType.UPDATED));
             return new CategoryDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id not found");
@@ -60,6 +112,7 @@ public class CategoryService {
         try {
             if (repository.existsById(id)) {
                 repository.deleteById(id);
+                eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.DELETED));
             } else {
                 throw new ResourceNotFoundException("Id not found");
             }
@@ -67,4 +120,9 @@ public class CategoryService {
             throw new DatabaseException("Integrity violation");
         }
     }
+
+    // The catalog only reflects committed data, so a writing transaction reads its own changes from the database.
+    private boolean inWritingTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
 }
@@ -0,0 +1,22 @@
+package com.ferreira.dscatalog.services;
+
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
+
+public enum CountMode {
+    EXACT,
+    APPROX,
+    NONE;
+
+    public static CountMode of(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new InvalidRequestException("Invalid count mode " + value + ", expected exact, approx or none");
+    }
+
+    public String label() {
+        return name().toLowerCase();
+    }
+}
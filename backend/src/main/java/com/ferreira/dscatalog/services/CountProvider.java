@@ -0,0 +1,147 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ferreira.dscatalog.dto.CountedPageDTO;
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.entities.User;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+import com.ferreira.dscatalog.services.events.UserChangedEvent;
+
+import jakarta.persistence.Table;
+
+@Component
+public class CountProvider {
+
+    private static final String H2_ESTIMATE = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = UPPER(?)";
+    private static final String POSTGRES_ESTIMATE = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.counts.exact-refresh:10m}")
+    private Duration exactRefresh;
+
+    private final Map<Class<?>, ExactCount> exactCounts = new ConcurrentHashMap<>();
+
+    private volatile String databaseProduct;
+
+    public <T> CountedPageDTO<T> toPage(Slice<T> slice, Class<?> entityType, CountMode mode, LongSupplier exactCount) {
+        Pageable pageable = slice.getPageable();
+        long total;
+        switch (mode) {
+            case APPROX:
+                total = approximate(entityType, exactCount);
+                break;
+            case NONE:
+                total = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+                break;
+            default:
+                total = exact(entityType, exactCount);
+        }
+        return new CountedPageDTO<>(slice.getContent(), pageable, total, mode);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        adjust(Product.class, event.getType());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        adjust(Category.class, event.getType());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        adjust(User.class, event.getType());
+    }
+
+    public void adjust(Class<?> entityType, long delta) {
+        ExactCount count = exactCounts.get(entityType);
+        if (count != null) {
+            count.value.addAndGet(delta);
+        }
+    }
+
+    private void adjust(Class<?> entityType, ChangeType type) {
+        if (type == ChangeType.CREATED) {
+            adjust(entityType, 1);
+        } else if (type == ChangeType.DELETED) {
+            adjust(entityType, -1);
+        }
+    }
+
+    private long exact(Class<?> entityType, LongSupplier exactCount) {
+        ExactCount count = exactCounts.get(entityType);
+        if (count != null && !count.isExpired(exactRefresh)) {
+            return count.value.get();
+        }
+        long total = exactCount.getAsLong();
+        // A count taken inside a writing transaction may include uncommitted rows, so it is not kept.
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            exactCounts.put(entityType, new ExactCount(total));
+        }
+        return total;
+    }
+
+    private long approximate(Class<?> entityType, LongSupplier exactCount) {
+        String sql = estimateQuery();
+        if (sql != null) {
+            try {
+                Long estimate = jdbcTemplate.queryForObject(sql, Long.class, entityType.getAnnotation(Table.class).name());
+                if (estimate != null && estimate >= 0) {
+                    return estimate;
+                }
+            } catch (DataAccessException e) {
+                // statistics not available, fall back to the maintained count
+            }
+        }
+        return exact(entityType, exactCount);
+    }
+
+    private String estimateQuery() {
+        if (databaseProduct == null) {
+            databaseProduct = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        }
+        if ("H2".equals(databaseProduct)) {
+            return H2_ESTIMATE;
+        }
+        if ("PostgreSQL".equals(databaseProduct)) {
+            return POSTGRES_ESTIMATE;
+        }
+        return null;
+    }
+
+    private static class ExactCount {
+
+        private final AtomicLong value;
+        private final long loadedAt = System.nanoTime();
+
+        ExactCount(long value) {
+            this.value = new AtomicLong(value);
+        }
+
+        boolean isExpired(Duration refresh) {
+            return System.nanoTime() - loadedAt > refresh.toNanos();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
+import com.ferreira.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/*
+ * Runs BCrypt on a fixed pool sized to the CPUs, off the request threads and before any transaction is
+ * opened. The queue is bounded and full means rejected: callers get a 503 rather than a growing backlog
+ * that would keep request threads waiting and starve the read endpoints.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder, MeterRegistry registry,
+            @Value("${app.hashing.threads:0}") int threads,
+            @Value("${app.hashing.queue-capacity:256}") int queueCapacity,
+            @Value("${app.hashing.timeout:30s}") Duration timeout) {
+        this.encoder = encoder;
+        this.timeout = timeout;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        // Publishes executor.queued, executor.active and the executor.idle queue wait under name=password.hash
+        executor = ExecutorServiceMetrics.monitor(registry, pool, "password.hash");
+        hashTimer = Timer.builder("password.hash.duration")
+                .description("Time spent computing one password hash")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("password.hash.rejected")
+                .description("Hash requests shed because the queue was full")
+                .register(registry);
+    }
+
+    public String hash(String password) {
+        return hashAll(List.of(password)).get(0);
+    }
+
+    /*
+     * Hashes the passwords in parallel and returns them in the same order. Either every hash is
+     * returned or nothing is: on rejection or timeout the tasks already queued are cancelled.
+     */
+    public List<String> hashAll(List<String> passwords) {
+        for (String password : passwords) {
+            if (password == null || password.isEmpty()) {
+                throw new InvalidRequestException("Password must not be empty");
+            }
+        }
+        List<Future<String>> futures = new ArrayList<>(passwords.size());
+        try {
+            for (String password : passwords) {
+                futures.add(executor.submit(() -> hashTimer.record(() -> encoder.encode(password))));
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<String> result = new ArrayList<>(passwords.size());
+            for (Future<String> future : futures) {
+                result.add(future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return result;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Password hashing is at capacity, try again later");
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            futures.forEach(x -> x.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
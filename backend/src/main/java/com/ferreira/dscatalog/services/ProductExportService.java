@@ -0,0 +1,91 @@
+package com.ferreira.dscatalog.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class ProductExportService {
+
+    private static final String EXPORT_QUERY = "SELECT obj.id, obj.name, obj.description, obj.price, obj.imgUrl, obj.date, cat.id, cat.name "
+            + "FROM Product obj LEFT JOIN obj.categories cat ORDER BY obj.id";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.flush-every:100}")
+    private int flushEvery;
+
+    /*
+     * Writes one JSON object per product and line. Rows are read through a forward-only cursor of a
+     * stateless session, so no entity is ever attached and memory use does not grow with the catalog.
+     */
+    public void export(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProductDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Transaction tx = session.beginTransaction();
+            try (ScrollableResults<Object[]> rows = session.createQuery(EXPORT_QUERY, Object[].class)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                ProductDTO current = null;
+                long written = 0;
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    if (current == null || !current.getId().equals(row[0])) {
+                        if (current != null) {
+                            write(writer, generator, current, ++written);
+                        }
+                        current = new ProductDTO((Long) row[0], (String) row[1], (String) row[2], (Double) row[3], (String) row[4], (Instant) row[5]);
+                    }
+                    if (row[6] != null) {
+                        current.getCategories().add(new CategoryDTO((Long) row[6], (String) row[7]));
+                    }
+                }
+                if (current != null) {
+                    write(writer, generator, current, ++written);
+                }
+                generator.flush();
+            } finally {
+                tx.rollback();
+            }
+        }
+    }
+
+    private void write(ObjectWriter writer, JsonGenerator generator, ProductDTO dto, long written) throws IOException {
+        writer.writeValue(generator, dto);
+        generator.writeRaw('\n');
+        if (written % flushEvery == 0) {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.ferreira.dscatalog.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ImportReportDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
+import com.ferreira.dscatalog.services.imports.CsvFeedReader;
+import com.ferreira.dscatalog.services.imports.FeedReader;
+import com.ferreira.dscatalog.services.imports.FeedRecord;
+import com.ferreira.dscatalog.services.imports.NdjsonFeedReader;
+
+@Service
+public class ProductImportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String INSERT_PRODUCT = "INSERT INTO tb_product (name, description, price, img_url, date, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY = "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-errors:1000}")
+    private int maxErrors;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportService(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReportDTO importProducts(InputStream input, MediaType contentType) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        FeedReader feed;
+        if (CSV.isCompatibleWith(contentType)) {
+            feed = new CsvFeedReader(reader);
+        } else if (NDJSON.isCompatibleWith(contentType)) {
+            feed = new NdjsonFeedReader(reader, objectMapper);
+        } else {
+            throw new InvalidRequestException("Unsupported content type " + contentType);
+        }
+
+        ImportReportDTO report = new ImportReportDTO();
+        List<FeedRecord> chunk = new ArrayList<>(chunkSize);
+        try (feed) {
+            FeedRecord record;
+            while ((record = feed.next()) != null) {
+                report.addReceived();
+                String error = record.isValid() ? validate(record.getProduct()) : record.getError();
+                if (error != null) {
+                    report.addError(record.getLine(), error, maxErrors);
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    write(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, report);
+        }
+        return report;
+    }
+
+    private String validate(ProductDTO dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Name is required";
+        }
+        for (CategoryDTO cat : dto.getCategories()) {
+            if (!categoryCatalog.contains(cat.getId())) {
+                return "Category not found " + cat.getId();
+            }
+        }
+        return null;
+    }
+
+    // One transaction per chunk; when the batch fails, the rows are retried one by one to isolate the bad ones.
+    private void write(List<FeedRecord> chunk, ImportReportDTO report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            report.addInserted(chunk.size());
+        } catch (DataAccessException e) {
+            for (FeedRecord record : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(record)));
+                    report.addInserted(1);
+                } catch (DataAccessException rowException) {
+                    report.addError(record.getLine(), NestedExceptionUtils.getMostSpecificCause(rowException).getMessage(), maxErrors);
+                }
+            }
+        }
+    }
+
+    private void insert(List<FeedRecord> rows) {
+        long[] generatedIds = jdbcTemplate.execute((ConnectionCallback<long[]>) con -> {
+            Calendar utc = Calendar.getInstance(UTC);
+            Timestamp now = Timestamp.from(Instant.now());
+            try (PreparedStatement ps = con.prepareStatement(INSERT_PRODUCT, new String[] { "id" })) {
+                for (FeedRecord row : rows) {
+                    ProductDTO dto = row.getProduct();
+                    ps.setString(1, dto.getName());
+                    ps.setString(2, dto.getDescription());
+                    ps.setObject(3, dto.getPrice(), Types.DOUBLE);
+                    ps.setString(4, dto.getImgUrl());
+                    if (dto.getDate() == null) {
+                        ps.setNull(5, Types.TIMESTAMP);
+                    } else {
+                        ps.setTimestamp(5, Timestamp.from(dto.getDate()), utc);
+                    }
+                    ps.setTimestamp(6, now, utc);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                long[] generated = new long[rows.size()];
+                int n = 0;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next() && n < generated.length) {
+                        generated[n++] = keys.getLong(1);
+                    }
+                }
+                if (n != generated.length) {
+                    throw new SQLException("Expected " + generated.length + " generated keys but got " + n);
+                }
+                return generated;
+            }
+        });
+
+        List<Set<Long>> categoryIds = new ArrayList<>(rows.size());
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Set<Long> ids = new LinkedHashSet<>();
+            rows.get(i).getProduct().getCategories().forEach(x -> ids.add(x.getId()));
+            for (Long categoryId : ids) {
+                links.add(new Object[] { generatedIds[i], categoryId });
+            }
+            categoryIds.add(ids);
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            ProductDTO dto = rows.get(i).getProduct();
+            eventPublisher.publishEvent(new ProductChangedEvent(generatedIds[i], ChangeType.CREATED, dto.getName(), dto.getDescription(), dto.getPrice(), categoryIds.get(i)));
+        }
+    }
+}
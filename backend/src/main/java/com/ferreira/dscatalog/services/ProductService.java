@@ -1,45 +1,235 @@
 package com.ferreira.dscatalog.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
+import com.ferreira.dscatalog.dto.FacetedPageDTO;
 import com.ferreira.dscatalog.dto.ProductDTO;
-import com.ferreira.dscatalog.entities.Category;
 import com.ferreira.dscatalog.entities.Product;
 import com.ferreira.dscatalog.repositories.CategoryRepository;
+import com.ferreira.dscatalog.repositories.KeysetCursor;
+import com.ferreira.dscatalog.repositories.KeysetRepository;
 import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.repositories.projections.ProductDetailsProjection;
+import com.ferreira.dscatalog.repositories.projections.ProductSummaryProjection;
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+import com.ferreira.dscatalog.services.index.CategoryBitmapIndex;
+import com.ferreira.dscatalog.services.index.ProductPriceIndex;
+import com.ferreira.dscatalog.services.index.ProductTextIndex;
 import com.ferreira.dscatalog.services.exceptions.DatabaseException;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.Predicate;
 
 @Service
 public class ProductService {
 
+    private static final Set<String> SEEK_KEYS = Set.of("name", "price", "date");
+    private static final List<String> SPARSE_FIELDS = List.of("id", "name", "description", "price", "imgUrl", "date");
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private KeysetRepository keysetRepository;
+
+    @Autowired
+    private CountProvider countProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductTextIndex textIndex;
+
+    @Autowired
+    private CategoryBitmapIndex categoryIndex;
+
+    @Autowired
+    private ProductPriceIndex priceIndex;
+
+    @Autowired
+    private BoundedCache<Long, ProductDTO> productCache;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Transactional(readOnly = true)
     public Page<ProductDTO> findAllPaged(Pageable pageable) {
         Page<Product> list = repository.findAll(pageable);
         return list.map(x -> new ProductDTO(x));
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAllPaged(Pageable pageable, CountMode countMode) {
+        Slice<ProductDTO> slice = repository.findAllBy(pageable).map(x -> new ProductDTO(x));
+        return countProvider.toPage(slice, Product.class, countMode, repository::count);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAllPagedWithCategories(Pageable pageable, CountMode countMode) {
+        if (countMode == null) {
+            Page<Product> page = repository.findAll(pageable);
+            fetchCategories(page.getContent());
+            return page.map(x -> new ProductDTO(x, x.getCategories()));
+        }
+        Slice<Product> slice = repository.findAllBy(pageable);
+        fetchCategories(slice.getContent());
+        Slice<ProductDTO> dtos = slice.map(x -> new ProductDTO(x, x.getCategories()));
+        return countProvider.toPage(dtos, Product.class, countMode, repository::count);
+    }
+
+    /*
+     * Sparse fieldset: only the requested columns are selected, through a projection, and each row holds
+     * just the requested fields in a fixed order. description is read only when it is asked for.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllFields(Pageable pageable, Set<String> fields) {
+        List<String> selected = SPARSE_FIELDS.stream().filter(fields::contains).toList();
+        if (selected.isEmpty() || selected.size() != fields.size()) {
+            Set<String> unsupported = new HashSet<>(fields);
+            unsupported.removeAll(SPARSE_FIELDS);
+            throw new InvalidRequestException("Unsupported fields " + unsupported + ", expected some of " + SPARSE_FIELDS);
+        }
+        Class<? extends ProductSummaryProjection> type = selected.contains("description") ? ProductDetailsProjection.class : ProductSummaryProjection.class;
+        return repository.findAllProjectedBy(pageable, type).map(x -> toFields(x, selected));
+    }
+
+    // Served from the text index, best match first, once it is built, and from the database until then.
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> search(String query, Pageable pageable) {
+        if (!textIndex.isReady()) {
+            return searchInDatabase(query, pageable);
+        }
+        List<Long> hits = textIndex.search(query);
+        return findPageByIds(hits, pageable);
+    }
+
+    // Every term must occur in the name or the description. There is no relevance score, so by name.
+    private Page<ProductDTO> searchInDatabase(String query, Pageable pageable) {
+        List<String> terms = ProductTextIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        Specification<Product> containsAll = (root, criteria, cb) -> cb.and(terms.stream()
+                .map(x -> cb.or(cb.like(cb.lower(root.get("name")), "%" + x + "%"), cb.like(cb.lower(root.get("description")), "%" + x + "%")))
+                .toArray(Predicate[]::new));
+        Pageable byName = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("name", "id"));
+        return repository.findAll(containsAll, byName).map(x -> new ProductDTO(x));
+    }
+
+    // Served from the category index once it is built, and from the database until then. Ordered by id.
+    @Transactional(readOnly = true)
+    public FacetedPageDTO<ProductDTO> findByCategories(List<Long> categoryIds, boolean matchAll, Pageable pageable) {
+        if (!categoryIndex.isReady()) {
+            return findByCategoriesInDatabase(categoryIds, matchAll, pageable);
+        }
+        CategoryBitmapIndex.Selection selection = categoryIndex.select(categoryIds, matchAll);
+        List<ProductDTO> content = findAllInOrder(selection.page(pageable.getOffset(), pageable.getPageSize()));
+        return new FacetedPageDTO<>(content, pageable, selection.getCount(), selection.getFacets());
+    }
+
+    private FacetedPageDTO<ProductDTO> findByCategoriesInDatabase(List<Long> categoryIds, boolean matchAll, Pageable pageable) {
+        Set<Long> distinct = new HashSet<>(categoryIds);
+        if (distinct.isEmpty()) {
+            return new FacetedPageDTO<>(List.of(), pageable, 0, Map.of());
+        }
+        long required = matchAll ? distinct.size() : 1;
+        Page<Long> ids = repository.findIdsInCategories(distinct, required, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Long, Long> facets = new TreeMap<>();
+        for (Object[] row : repository.countCategoriesOfProductsInCategories(distinct, required)) {
+            facets.put((Long) row[0], (Long) row[1]);
+        }
+        return new FacetedPageDTO<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements(), facets);
+    }
+
+    /*
+     * Served from the price index when the order is by price (or unspecified); any other order, or a
+     * writing transaction that must see its own changes, goes to the database and its price index.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findByPriceRange(Double minPrice, Double maxPrice, Pageable pageable) {
+        double min = minPrice != null ? minPrice : -Double.MAX_VALUE;
+        double max = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        if (min > max) {
+            throw new InvalidRequestException("minPrice must not be greater than maxPrice");
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        boolean byPrice = orders.isEmpty() || (orders.size() == 1 && "price".equalsIgnoreCase(orders.get(0).getProperty()));
+        boolean inWritingTransaction = TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!byPrice || !priceIndex.isReady() || inWritingTransaction) {
+            return repository.findByPriceBetween(min, max, pageable).map(x -> new ProductDTO(x));
+        }
+        boolean descending = !orders.isEmpty() && orders.get(0).isDescending();
+        ProductPriceIndex.Range range = priceIndex.select(min, max, descending);
+        List<ProductDTO> content = findAllInOrder(range.page(pageable.getOffset(), pageable.getPageSize()));
+        return new PageImpl<>(content, pageable, range.getCount());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductDTO> findAllSeek(String after, Pageable pageable) {
+        try {
+            KeysetCursor cursor = after.isBlank() ? KeysetCursor.first(pageable.getSort(), SEEK_KEYS) : KeysetCursor.decode(after, SEEK_KEYS);
+            CursorPageDTO<Product> page = keysetRepository.findPage(Product.class, cursor, pageable.getPageSize());
+            return page.map(x -> new ProductDTO(x));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
+        ProductDTO cached = productCache.get(id);
+        if (cached != null) {
+            return new ProductDTO(cached);
+        }
+        long stamp = productCache.stamp();
         Optional<Product> obj = repository.findById(id);
         Product entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-        return new ProductDTO(entity, entity.getCategories());
+        ProductDTO dto = new ProductDTO(entity, entity.getCategories());
+        // A writing transaction may see its own uncommitted changes, which must not leak into the cache.
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            productCache.put(id, new ProductDTO(dto), stamp);
+        }
+        return dto;
     }
 
     @Transactional
@@ -47,6 +237,7 @@ public class ProductService {
         Product entity = new Product();
         dtoToEntity(dto, entity);
         entity = repository.save(entity);
+        eventPublisher.publishEvent(new ProductChangedEvent(entity, ChangeType.CREATED));
         return new ProductDTO(entity);
     }
 
@@ -56,23 +247,114 @@ public class ProductService {
             Product entity = repository.getReferenceById(id);
             dtoToEntity(dto, entity);
             entity = repository.save(entity);
+            eventPublisher.publishEvent(new ProductChangedEvent(entity, ChangeType.UPDATED));
             return new ProductDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id not found " + id);
         }
     }
 
+    @Transactional
+    public ProductDTO patch(Long id, JsonNode patch) {
+        Product entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+        return applyPatch(entity, patch);
+    }
+
+    /*
+     * Applies a list of merge patches, each carrying the id of its product, in one transaction. The products
+     * and their categories are loaded with a single query and the resulting updates go out as JDBC batches.
+     */
+    @Transactional
+    public List<ProductDTO> patchAll(List<JsonNode> patches) {
+        List<Long> ids = new ArrayList<>(patches.size());
+        for (JsonNode patch : patches) {
+            JsonNode id = patch.get("id");
+            if (id == null || !id.isIntegralNumber()) {
+                throw new InvalidRequestException("Each patch must have a numeric id");
+            }
+            ids.add(id.asLong());
+        }
+        Map<Long, Product> products = repository.findProductsWithCategories(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> result = new ArrayList<>(patches.size());
+        for (int i = 0; i < patches.size(); i++) {
+            Product entity = products.get(ids.get(i));
+            if (entity == null) {
+                throw new ResourceNotFoundException("Id not found " + ids.get(i));
+            }
+            result.add(applyPatch(entity, patches.get(i)));
+        }
+        return result;
+    }
+
     public void delete(Long id) {
         try {
             if (!repository.existsById(id)) {
                 throw new ResourceNotFoundException("Id not found " + id);
             }
             repository.deleteById(id);
+            eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.DELETED));
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity violation");
         }
     }
 
+    private Page<ProductDTO> findPageByIds(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<ProductDTO> content = findAllInOrder(ids.subList(from, to));
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    private List<ProductDTO> findAllInOrder(List<Long> ids) {
+        Map<Long, Product> products = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .filter(products::containsKey)
+                .map(x -> new ProductDTO(products.get(x)))
+                .toList();
+    }
+
+    private void fetchCategories(List<Product> products) {
+        if (!products.isEmpty()) {
+            List<Long> ids = products.stream().map(Product::getId).toList();
+            repository.findProductsWithCategories(ids);
+        }
+    }
+
+    private static Map<String, Object> toFields(ProductSummaryProjection row, List<String> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = switch (field) {
+                case "id" -> row.getId();
+                case "name" -> row.getName();
+                case "description" -> ((ProductDetailsProjection) row).getDescription();
+                case "price" -> row.getPrice();
+                case "imgUrl" -> row.getImgUrl();
+                case "date" -> row.getDate();
+                default -> throw new IllegalArgumentException(field);
+            };
+            result.put(field, value);
+        }
+        return result;
+    }
+
+    private ProductDTO applyPatch(Product entity, JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new InvalidRequestException("Patch must be a JSON object");
+        }
+        ProductDTO dto;
+        try {
+            JsonNode current = objectMapper.valueToTree(new ProductDTO(entity, entity.getCategories()));
+            dto = objectMapper.treeToValue(MergePatch.apply(current, patch), ProductDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid patch for product " + entity.getId());
+        }
+        dtoToEntity(dto, entity);
+        eventPublisher.publishEvent(new ProductChangedEvent(entity, ChangeType.UPDATED));
+        return new ProductDTO(entity);
+    }
+
     private void dtoToEntity(ProductDTO dto, Product entity) {
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
@@ -80,11 +362,22 @@ public class ProductService {
         entity.setImgUrl(dto.getImgUrl());
         entity.setDate(dto.getDate());
 
-        entity.getCategories().clear();
-
+        // Only the difference is applied, so the join table sees inserts and deletes for the changed links alone
+        Set<Long> categoryIds = new HashSet<>();
         for (CategoryDTO cat : dto.getCategories()) {
-            Category category = categoryRepository.getReferenceById(cat.getId());
-            entity.getCategories().add(category);
+            if (!categoryCatalog.contains(cat.getId())) {
+                throw new ResourceNotFoundException("Category not found " + cat.getId());
+            }
+            categoryIds.add(cat.getId());
+        }
+        boolean removed = entity.getCategories().removeIf(x -> !categoryIds.contains(x.getId()));
+        entity.getCategories().forEach(x -> categoryIds.remove(x.getId()));
+        for (Long categoryId : categoryIds) {
+            entity.getCategories().add(categoryRepository.getReferenceById(categoryId));
+        }
+        // Link changes touch only the join table, so @PreUpdate would not run for them on its own
+        if (entity.getId() != null && (removed || !categoryIds.isEmpty())) {
+            entity.setUpdateAt(Instant.now());
         }
     }
 }
@@ -0,0 +1,136 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
+import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Read-only product queries over R2DBC. The connection pool is deliberately not exposed as a bean: a
+ * ConnectionFactory bean would make Spring Boot back off from the JDBC DataSource that JPA writes through.
+ */
+@Service
+public class ReactiveProductService implements DisposableBean {
+
+    private static final String SELECT_PRODUCT = "SELECT obj.id, obj.name, obj.description, obj.price, obj.img_url, obj.date FROM tb_product obj";
+
+    private static final String SELECT_CATEGORIES = "SELECT cat.id, cat.name FROM tb_category cat "
+            + "INNER JOIN tb_product_category pc ON pc.category_id = cat.id WHERE pc.product_id = :id ORDER BY cat.id";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "obj.id",
+            "name", "obj.name",
+            "price", "obj.price",
+            "imgUrl", "obj.img_url",
+            "date", "obj.date");
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public ReactiveProductService(@Value("${app.r2dbc.url}") String url,
+            @Value("${app.r2dbc.username:}") String username,
+            @Value("${app.r2dbc.password:}") String password,
+            @Value("${app.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .maxSize(maxSize)
+                .build());
+        client = DatabaseClient.create(pool);
+    }
+
+    /*
+     * Emits every product in the given order. Rows are pulled as the subscriber requests them, so a slow
+     * client holds back the cursor instead of buffering the catalog on the heap.
+     */
+    public Flux<ProductDTO> findAll(Sort sort) {
+        return Flux.defer(() -> client.sql(SELECT_PRODUCT + orderBy(sort))
+                .map(this::toProduct)
+                .all());
+    }
+
+    public Mono<Page<ProductDTO>> findAllPaged(Pageable pageable) {
+        Mono<List<ProductDTO>> content = Mono.defer(() -> client.sql(SELECT_PRODUCT + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(this::toProduct)
+                .all()
+                .collectList());
+        Mono<Long> total = client.sql("SELECT COUNT(*) FROM tb_product")
+                .map(row -> row.get(0, Long.class))
+                .one();
+        return Mono.zip(content, total).map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    public Mono<ProductDTO> findById(Long id) {
+        Mono<ProductDTO> product = client.sql(SELECT_PRODUCT + " WHERE obj.id = :id")
+                .bind("id", id)
+                .map(this::toProduct)
+                .one();
+        Mono<List<CategoryDTO>> categories = client.sql(SELECT_CATEGORIES)
+                .bind("id", id)
+                .map(row -> new CategoryDTO(row.get("id", Long.class), row.get("name", String.class)))
+                .all()
+                .collectList();
+        return product.zipWith(categories, (dto, list) -> {
+            dto.getCategories().addAll(list);
+            return dto;
+        }).switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")));
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private ProductDTO toProduct(Readable row) {
+        // Hibernate writes Instant into TIMESTAMP WITHOUT TIME ZONE as UTC, so read it back the same way
+        LocalDateTime date = row.get("date", LocalDateTime.class);
+        return new ProductDTO(row.get("id", Long.class), row.get("name", String.class), row.get("description", String.class),
+                row.get("price", Double.class), row.get("img_url", String.class), date == null ? null : date.toInstant(ZoneOffset.UTC));
+    }
+
+    private static String orderBy(Sort sort) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String property = StringUtils.uncapitalize(order.getProperty());
+            String column = SORT_COLUMNS.get(property);
+            if (column == null) {
+                throw new InvalidRequestException("Unsupported sort property " + order.getProperty());
+            }
+            sql.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+            byId |= "id".equals(property);
+        }
+        if (!byId) {
+            sql.append("obj.id ASC, ");
+        }
+        return sql.substring(0, sql.length() - 2);
+    }
+}
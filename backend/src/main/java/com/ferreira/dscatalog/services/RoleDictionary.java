@@ -0,0 +1,124 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.entities.Role;
+import com.ferreira.dscatalog.repositories.RoleRepository;
+import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
+
+/*
+ * tb_role held in memory as one shared, read-only RoleDTO per role. Every UserDTO references these
+ * instances. Roles are only ever added by SQL, hence the dictionary is reloaded when an id is missing
+ * instead of listening for change events. Ids come from clients too, so a missing id reloads at most
+ * once per MIN_RELOAD_INTERVAL and is otherwise reported missing straight away.
+ */
+@Component
+public class RoleDictionary {
+
+    private static final long MIN_RELOAD_INTERVAL = Duration.ofSeconds(5).toNanos();
+
+    @Autowired
+    private RoleRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Map<Long, RoleDTO> roles;
+    private volatile long loadedAt;
+
+    public RoleDictionary(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    public RoleDTO get(Long id) {
+        RoleDTO role = find(id);
+        if (role == null) {
+            throw new ResourceNotFoundException("Role not found " + id);
+        }
+        return role;
+    }
+
+    public boolean contains(Long id) {
+        return find(id) != null;
+    }
+
+    public List<RoleDTO> findAll() {
+        return List.copyOf(roles().values());
+    }
+
+    private RoleDTO find(Long id) {
+        if (id == null) {
+            return null;
+        }
+        RoleDTO role = roles().get(id);
+        return role != null ? role : load(MIN_RELOAD_INTERVAL).get(id);
+    }
+
+    private Map<Long, RoleDTO> roles() {
+        Map<Long, RoleDTO> current = roles;
+        return current != null ? current : load(Long.MAX_VALUE);
+    }
+
+    // Returns the loaded roles if they are younger than maxAge, and reloads them otherwise
+    private Map<Long, RoleDTO> load(long maxAge) {
+        Map<Long, RoleDTO> current = roles;
+        if (current != null && System.nanoTime() - loadedAt < maxAge) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            current = roles;
+            if (current != null && System.nanoTime() - loadedAt < maxAge) {
+                return current;
+            }
+            List<Role> entities = transactionTemplate.execute(status -> repository.findAll(Sort.by("id")));
+            Map<Long, RoleDTO> loaded = new LinkedHashMap<>();
+            // Instances already handed out are kept, so a reload does not break the sharing
+            Map<Long, RoleDTO> previous = roles != null ? roles : Map.of();
+            for (Role entity : entities) {
+                RoleDTO known = previous.get(entity.getId());
+                boolean unchanged = known != null && Objects.equals(known.getAuthority(), entity.getAuthority());
+                loaded.put(entity.getId(), unchanged ? known : new SharedRoleDTO(entity));
+            }
+            Map<Long, RoleDTO> result = Collections.unmodifiableMap(loaded);
+            loadedAt = System.nanoTime();
+            roles = result;
+            return result;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static class SharedRoleDTO extends RoleDTO {
+        private static final long serialVersionUID = 1L;
+
+        SharedRoleDTO(Role entity) {
+            super(entity);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("Shared role " + getId() + " is read-only");
+        }
+
+        @Override
+        public void setAuthority(String authority) {
+            throw new UnsupportedOperationException("Shared role " + getId() + " is read-only");
+        }
+    }
+}
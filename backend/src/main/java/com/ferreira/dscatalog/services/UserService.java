@@ -1,14 +1,22 @@
 package com.ferreira.dscatalog.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.ferreira.dscatalog.dto.RoleDTO;
 import com.ferreira.dscatalog.dto.UserDTO;
@@ -17,7 +25,10 @@ import com.ferreira.dscatalog.entities.Role;
 import com.ferreira.dscatalog.entities.User;
 import com.ferreira.dscatalog.repositories.RoleRepository;
 import com.ferreira.dscatalog.repositories.UserRepository;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.UserChangedEvent;
 import com.ferreira.dscatalog.services.exceptions.DatabaseException;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -32,28 +43,60 @@ public class UserService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private RoleDictionary roleDictionary;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private CountProvider countProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.users.max-batch-size:200}")
+    private int maxBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Transactional(readOnly = true)
     public Page<UserDTO> findAllPaged(Pageable pageable) {
         Page<User> page = repository.findAll(pageable);
-        return page.map(x -> new UserDTO(x));
+        Map<Long, List<RoleDTO>> roles = findRoles(page.getContent());
+        return page.map(x -> toDTO(x, roles));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserDTO> findAllPaged(Pageable pageable, CountMode countMode) {
+        Slice<User> users = repository.findAllBy(pageable);
+        Map<Long, List<RoleDTO>> roles = findRoles(users.getContent());
+        Slice<UserDTO> slice = users.map(x -> toDTO(x, roles));
+        return countProvider.toPage(slice, User.class, countMode, repository::count);
     }
 
     @Transactional(readOnly = true)
     public UserDTO findById(Long id) {
         Optional<User> obj = repository.findById(id);
         User entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-        return new UserDTO(entity);
+        return toDTO(entity, findRoles(List.of(entity)));
     }
 
-    @Transactional
+    // The hash is computed before the transaction opens, so no connection is held while BCrypt runs.
     public UserDTO insert(UserInsertDTO dto) {
-        User entity = new User();
-        copyDtoToEntity(dto, entity);
-        entity.setPassword(passwordEncoder.encode(dto.getPassword()));
-        entity = repository.save(entity);
-        return new UserDTO(entity);
+        String hash = passwordHasher.hash(dto.getPassword());
+        return insertAll(List.of(dto), List.of(hash)).get(0);
+    }
+
+    public List<UserDTO> insertAll(List<UserInsertDTO> dtos) {
+        if (dtos.size() > maxBatchSize) {
+            throw new InvalidRequestException("At most " + maxBatchSize + " users per batch");
+        }
+        List<String> hashes = passwordHasher.hashAll(dtos.stream().map(UserInsertDTO::getPassword).toList());
+        return insertAll(dtos, hashes);
     }
 
     @Transactional
@@ -62,7 +105,8 @@ public class UserService {
             User entity = repository.getReferenceById(id);
             copyDtoToEntity(dto, entity);
             entity = repository.save(entity);
-            return new UserDTO(entity);
+            eventPublisher.publishEvent(new UserChangedEvent(entity.getId(), ChangeType.UPDATED));
+            return toDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id not found " + id);
         }
@@ -74,11 +118,53 @@ public class UserService {
                 throw new ResourceNotFoundException("Id not found " + id);
             }
             repository.deleteById(id);
+            eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.DELETED));
+        } catch (DataIntegrityViolationException e) {
+            throw new DatabaseException("Integrity violation");
+        }
+    }
+
+    private List<UserDTO> insertAll(List<UserInsertDTO> dtos, List<String> hashes) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<User> entities = new ArrayList<>(dtos.size());
+                for (int i = 0; i < dtos.size(); i++) {
+                    User entity = new User();
+                    copyDtoToEntity(dtos.get(i), entity);
+                    entity.setPassword(hashes.get(i));
+                    entities.add(entity);
+                }
+                entities = repository.saveAll(entities);
+                entities.forEach(x -> eventPublisher.publishEvent(new UserChangedEvent(x.getId(), ChangeType.CREATED)));
+                return entities.stream().map(this::toDTO).toList();
+            });
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity violation");
         }
     }
 
+    // One query for the role ids of all given users; the roles themselves come from the dictionary
+    private Map<Long, List<RoleDTO>> findRoles(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<RoleDTO>> result = new HashMap<>();
+        List<Long> ids = users.stream().map(User::getId).toList();
+        for (Object[] row : repository.findRoleIds(ids)) {
+            result.computeIfAbsent((Long) row[0], x -> new ArrayList<>()).add(roleDictionary.get((Long) row[1]));
+        }
+        return result;
+    }
+
+    private UserDTO toDTO(User entity, Map<Long, List<RoleDTO>> roles) {
+        return new UserDTO(entity, roles.getOrDefault(entity.getId(), List.of()));
+    }
+
+    // Role references are not initialized: only their ids are read
+    private UserDTO toDTO(User entity) {
+        return new UserDTO(entity, entity.getRoles().stream().map(x -> roleDictionary.get(x.getId())).toList());
+    }
+
     private void copyDtoToEntity(UserDTO dto, User entity) {
         entity.setFirstName(dto.getFirstName());
         entity.setLastName(dto.getLastName());
@@ -87,6 +173,9 @@ public class UserService {
         entity.getRoles().clear();
 
         for (RoleDTO roleDTO : dto.getRoleDTOs()) {
+            if (!roleDictionary.contains(roleDTO.getId())) {
+                throw new ResourceNotFoundException("Role not found " + roleDTO.getId());
+            }
             Role role = roleRepository.getReferenceById(roleDTO.getId());
             entity.getRoles().add(role);
         }
@@ -0,0 +1,214 @@
+package com.ferreira.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/*
+ * LRU cache bounded by entry count and by total weight, with an optional time to live.
+ * Values put with a stamp taken before loading are dropped when an invalidation happened meanwhile,
+ * so a slow reader cannot put back a value older than a concurrent write.
+ * With a grouper, keys are also indexed by the group of their value, so a group is invalidated by
+ * lookup instead of a scan.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final long maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final long ttlNanos;
+    private final Function<V, ?> grouper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Object, Set<K>> groups = new HashMap<>();
+    private long weight;
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, long maxEntries, long maxWeight, ToLongFunction<V> weigher, Duration ttl) {
+        this(name, maxEntries, maxWeight, weigher, ttl, null);
+    }
+
+    public BoundedCache(String name, long maxEntries, long maxWeight, ToLongFunction<V> weigher, Duration ttl,
+            Function<V, ?> grouper) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+        this.grouper = grouper;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && ttlNanos > 0 && System.nanoTime() - entry.writtenAt > ttlNanos) {
+                removeEntry(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long stamp() {
+        lock.lock();
+        try {
+            return invalidations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long stamp) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (stamp != invalidations) {
+                return;
+            }
+            removeEntry(key);
+            entries.put(key, new Entry<>(value, valueWeight, System.nanoTime()));
+            weight += valueWeight;
+            if (grouper != null) {
+                groups.computeIfAbsent(grouper.apply(value), x -> new HashSet<>()).add(key);
+            }
+            puts.increment();
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            invalidations++;
+            removeEntry(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        lock.lock();
+        try {
+            invalidations++;
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = it.next();
+                if (predicate.test(entry.getValue().value)) {
+                    weight -= entry.getValue().weight;
+                    unindex(entry.getKey(), entry.getValue());
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes every entry whose value the grouper maps to the given group
+    public void invalidateGroup(Object group) {
+        if (grouper == null) {
+            throw new IllegalStateException("Cache " + name + " has no grouper");
+        }
+        lock.lock();
+        try {
+            invalidations++;
+            Set<K> keys = groups.remove(group);
+            if (keys != null) {
+                for (K key : keys) {
+                    Entry<V> entry = entries.remove(key);
+                    if (entry != null) {
+                        weight -= entry.weight;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(entries.size(), weight, hits.sum(), misses.sum(), puts.sum(), evictions.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            weight -= entry.getValue().weight;
+            unindex(entry.getKey(), entry.getValue());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private void removeEntry(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+            unindex(key, entry);
+        }
+    }
+
+    private void unindex(K key, Entry<V> entry) {
+        if (grouper == null) {
+            return;
+        }
+        Object group = grouper.apply(entry.value);
+        Set<K> keys = groups.get(group);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            groups.remove(group);
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long weight;
+        private final long writtenAt;
+
+        Entry(V value, long weight, long writtenAt) {
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
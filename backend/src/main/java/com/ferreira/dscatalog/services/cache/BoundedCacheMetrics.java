@@ -0,0 +1,51 @@
+package com.ferreira.dscatalog.services.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+// Publishes a BoundedCache under the standard cache.* meter names.
+public class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache<?, ?>> {
+
+    private final BoundedCache<?, ?> cache;
+
+    public BoundedCacheMetrics(BoundedCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+        this.cache = cache;
+    }
+
+    @Override
+    protected Long size() {
+        return cache.stats().getSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        return cache.stats().getHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return cache.stats().getMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return cache.stats().getEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return cache.stats().getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.weight", cache, x -> x.stats().getWeight())
+                .tags(getTagsWithCacheName())
+                .baseUnit("bytes")
+                .description("Estimated size of the cached values")
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ferreira.dscatalog.services.cache;
+
+public class CacheStats {
+
+    private final long size;
+    private final long weight;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long evictions;
+
+    public CacheStats(long size, long weight, long hits, long misses, long puts, long evictions) {
+        this.size = size;
+        this.weight = weight;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.evictions = evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
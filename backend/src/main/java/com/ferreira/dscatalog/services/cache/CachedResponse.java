@@ -0,0 +1,87 @@
+package com.ferreira.dscatalog.services.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * A response body as it goes on the wire, serialized once and compressed once when stored.
+ * Past freshUntil the entry is stale: it is still served while a single refresh replaces it.
+ */
+public class CachedResponse {
+
+    private static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private final String path;
+    private final String contentType;
+    private final String eTag;
+    private final String lastModified;
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final long freshUntil;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public CachedResponse(String path, String contentType, String eTag, String lastModified, byte[] body, long freshUntil) {
+        this.path = path;
+        this.contentType = contentType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.body = body;
+        this.gzipBody = body.length >= MIN_COMPRESSED_SIZE ? gzip(body) : null;
+        this.freshUntil = freshUntil;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    // Null when the body is too small for compression to pay off
+    public byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    public boolean isFresh() {
+        return System.nanoTime() - freshUntil < 0;
+    }
+
+    // True for the one caller that should refresh this entry; it must call refreshDone afterwards.
+    public boolean startRefresh() {
+        return refreshing.compareAndSet(false, true);
+    }
+
+    public void refreshDone() {
+        refreshing.set(false);
+    }
+
+    public long weight() {
+        return 256 + body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ferreira.dscatalog.services.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+@Component
+public class ProductCacheInvalidator {
+
+    @Autowired
+    private BoundedCache<Long, ProductDTO> productCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productCache.invalidate(event.getId());
+    }
+
+    // Cached products embed category names, so renaming or removing a category drops the products that reference it.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() != ChangeType.CREATED) {
+            productCache.invalidateIf(x -> x.getCategories().stream().anyMatch(c -> event.getId().equals(c.getId())));
+        }
+    }
+}
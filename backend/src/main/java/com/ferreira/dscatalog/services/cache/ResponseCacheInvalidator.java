@@ -0,0 +1,42 @@
+package com.ferreira.dscatalog.services.cache;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+/*
+ * Drops only the cached responses a committed write can have changed: a product change affects the
+ * product lists and that product's own page; a category change also affects every product that embeds
+ * its name. The cache is grouped by path, so each product event is two lookups, even when an import
+ * publishes one per row.
+ */
+public class ResponseCacheInvalidator {
+
+    private static final String PRODUCTS = "/products";
+    private static final String CATEGORIES = "/categories";
+
+    private final BoundedCache<String, CachedResponse> responseCache;
+
+    public ResponseCacheInvalidator(BoundedCache<String, CachedResponse> responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        responseCache.invalidateGroup(PRODUCTS);
+        responseCache.invalidateGroup(PRODUCTS + "/" + event.getId());
+    }
+
+    // Rare enough that the scan over every product page is acceptable
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        responseCache.invalidateGroup(CATEGORIES);
+        if (event.getType() == ChangeType.CREATED) {
+            return;
+        }
+        responseCache.invalidateGroup(CATEGORIES + "/" + event.getId());
+        responseCache.invalidateIf(x -> x.getPath().startsWith(PRODUCTS));
+    }
+}
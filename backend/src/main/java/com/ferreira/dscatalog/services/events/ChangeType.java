@@ -0,0 +1,7 @@
+package com.ferreira.dscatalog.services.events;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,68 @@
+package com.ferreira.dscatalog.services.events;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.entities.Product;
+
+public class ProductChangedEvent {
+
+    private final Long id;
+    private final ChangeType type;
+    private final String name;
+    private final String description;
+    private final Double price;
+    private final Set<Long> categoryIds;
+
+    public ProductChangedEvent(Long id, ChangeType type) {
+        this.id = id;
+        this.type = type;
+        this.name = null;
+        this.description = null;
+        this.price = null;
+        this.categoryIds = Set.of();
+    }
+
+    public ProductChangedEvent(Long id, ChangeType type, String name, String description, Double price, Set<Long> categoryIds) {
+        this.id = id;
+        this.type = type;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.categoryIds = Set.copyOf(categoryIds);
+    }
+
+    public ProductChangedEvent(Product entity, ChangeType type) {
+        this.id = entity.getId();
+        this.type = type;
+        this.name = entity.getName();
+        this.description = entity.getDescription();
+        this.price = entity.getPrice();
+        this.categoryIds = entity.getCategories().stream().map(Category::getId).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ferreira.dscatalog.services.events;
+
+public class UserChangedEvent {
+
+    private final Long id;
+    private final ChangeType type;
+
+    public UserChangedEvent(Long id, ChangeType type) {
+        this.id = id;
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+}
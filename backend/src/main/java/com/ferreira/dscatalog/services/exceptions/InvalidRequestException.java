@@ -0,0 +1,9 @@
+package com.ferreira.dscatalog.services.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRequestException(String msg) {
+        super(msg);
+    }
+}
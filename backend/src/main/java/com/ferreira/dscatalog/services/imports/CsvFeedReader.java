@@ -0,0 +1,139 @@
+package com.ferreira.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+/*
+ * RFC 4180 CSV with a header row naming the columns: name, description, price, imgUrl, date, categories.
+ * Category ids in the categories column are separated by semicolons.
+ */
+public class CsvFeedReader implements FeedReader {
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line;
+    private long recordLine;
+
+    public CsvFeedReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public FeedRecord next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+        List<String> fields = readRecord();
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return FeedRecord.of(recordLine, toProduct(fields));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return FeedRecord.error(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductDTO toProduct(List<String> fields) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(field(fields, "name"));
+        dto.setDescription(field(fields, "description"));
+        String price = field(fields, "price");
+        dto.setPrice(price == null ? null : Double.valueOf(price));
+        dto.setImgUrl(field(fields, "imgUrl"));
+        String date = field(fields, "date");
+        dto.setDate(date == null ? null : Instant.parse(date));
+        String categories = field(fields, "categories");
+        if (categories != null) {
+            for (String id : categories.split(";")) {
+                if (!id.isBlank()) {
+                    dto.getCategories().add(new CategoryDTO(Long.valueOf(id.trim()), null));
+                }
+            }
+        }
+        return dto;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // Reads one record, which may span several lines when a quoted field contains line breaks; blank lines are skipped.
+    private List<String> readRecord() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String more = reader.readLine();
+                if (more == null) {
+                    break;
+                }
+                line++;
+                field.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
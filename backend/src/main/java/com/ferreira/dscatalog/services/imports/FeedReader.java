@@ -0,0 +1,10 @@
+package com.ferreira.dscatalog.services.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface FeedReader extends Closeable {
+
+    // Next record of the feed, or null once the input is exhausted.
+    FeedRecord next() throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.ferreira.dscatalog.services.imports;
+
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+public class FeedRecord {
+
+    private final long line;
+    private final ProductDTO product;
+    private final String error;
+
+    private FeedRecord(long line, ProductDTO product, String error) {
+        this.line = line;
+        this.product = product;
+        this.error = error;
+    }
+
+    public static FeedRecord of(long line, ProductDTO product) {
+        return new FeedRecord(line, product, null);
+    }
+
+    public static FeedRecord error(long line, String error) {
+        return new FeedRecord(line, null, error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
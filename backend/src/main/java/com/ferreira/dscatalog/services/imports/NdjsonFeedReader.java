@@ -0,0 +1,43 @@
+package com.ferreira.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+public class NdjsonFeedReader implements FeedReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    public NdjsonFeedReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(ProductDTO.class);
+    }
+
+    @Override
+    public FeedRecord next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return FeedRecord.of(line, objectReader.readValue(text));
+            } catch (JsonProcessingException e) {
+                return FeedRecord.error(line, e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,164 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+/*
+ * One compressed bitmap of product ids per category. The bitmaps are built into a separate map while
+ * changes received meanwhile are kept aside, then those changes are replayed on top of what was read
+ * and the result is published. Until then isReady is false and callers go to the database.
+ */
+@Component
+public class CategoryBitmapIndex {
+
+    private static final long BUILD_RANGE = 10_000;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, RoaringBitmap> bitmaps = new HashMap<>();
+    // Changes received before the build is published: product id -> its categories, empty when deleted
+    private final Map<Long, Set<Long>> pendingProducts = new HashMap<>();
+    private final Set<Long> pendingDeletedCategories = new HashSet<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Map<Long, RoaringBitmap> built = new HashMap<>();
+        Long maxId = repository.findMaxId();
+        if (maxId != null) {
+            for (long from = 0; from <= maxId; from += BUILD_RANGE) {
+                for (Object[] row : repository.findCategoryMemberships(from, from + BUILD_RANGE - 1)) {
+                    built.computeIfAbsent((Long) row[1], x -> new RoaringBitmap()).add(toInt((Long) row[0]));
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            // The pending changes are at least as recent as the rows just read, which may predate them
+            pendingProducts.forEach((id, categoryIds) -> apply(built, toInt(id), categoryIds));
+            pendingDeletedCategories.forEach(built::remove);
+            pendingProducts.clear();
+            pendingDeletedCategories.clear();
+            bitmaps = built;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Set<Long> categoryIds = event.getType() == ChangeType.DELETED ? Set.of() : event.getCategoryIds();
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(bitmaps, toInt(event.getId()), categoryIds);
+            } else {
+                pendingProducts.put(event.getId(), categoryIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            lock.writeLock().lock();
+            try {
+                if (ready) {
+                    bitmaps.remove(event.getId());
+                } else {
+                    pendingDeletedCategories.add(event.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Products in any (or all) of the given categories, with per-category counts inside that result.
+    public Selection select(Collection<Long> categoryIds, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (Long categoryId : categoryIds) {
+                RoaringBitmap bitmap = bitmaps.getOrDefault(categoryId, new RoaringBitmap());
+                if (result == null) {
+                    result = bitmap.copy();
+                } else {
+                    result = matchAll ? result.and(bitmap) : result.or(bitmap);
+                }
+            }
+            if (result == null) {
+                result = new RoaringBitmap();
+            }
+            Map<Long, Long> facets = new TreeMap<>();
+            for (Map.Entry<Long, RoaringBitmap> entry : bitmaps.entrySet()) {
+                long count = result.andCardinality(entry.getValue());
+                if (count > 0) {
+                    facets.put(entry.getKey(), count);
+                }
+            }
+            return new Selection(result, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, RoaringBitmap> bitmaps, int id, Set<Long> categoryIds) {
+        bitmaps.values().forEach(x -> x.remove(id));
+        categoryIds.forEach(x -> bitmaps.computeIfAbsent(x, y -> new RoaringBitmap()).add(id));
+    }
+
+    private static int toInt(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    public static class Selection {
+
+        private final RoaringBitmap products;
+        private final Map<Long, Long> facets;
+
+        Selection(RoaringBitmap products, Map<Long, Long> facets) {
+            this.products = products;
+            this.facets = facets;
+        }
+
+        public long getCount() {
+            return products.cardinality();
+        }
+
+        public Map<Long, Long> getFacets() {
+            return facets;
+        }
+
+        public List<Long> page(long offset, int limit) {
+            return products.page(offset, limit).stream().map(Integer::longValue).toList();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+/*
+ * (price, id) pairs of every priced product, sorted by price then id in parallel primitive arrays.
+ * Changes go to a small pending map that overrides the arrays and is merged into fresh arrays once it
+ * grows past MERGE_THRESHOLD. Nothing is modified after publication: readers take the current state
+ * without locking and writers replace it.
+ */
+@Component
+public class ProductPriceIndex {
+
+    private static final long BUILD_RANGE = 10_000;
+    private static final int MERGE_THRESHOLD = 1024;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile State state = new State(Base.EMPTY, Map.of());
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Long maxId = repository.findMaxId();
+        PairBuffer buffer = new PairBuffer();
+        if (maxId != null) {
+            for (long from = 0; from <= maxId; from += BUILD_RANGE) {
+                for (Object[] row : repository.findPrices(from, from + BUILD_RANGE - 1)) {
+                    buffer.add(((Number) row[1]).doubleValue(), (Long) row[0]);
+                }
+            }
+        }
+        Base base = buffer.toBase();
+        writeLock.lock();
+        try {
+            // Changes received while building are kept: they are at least as recent as the rows just read
+            state = new State(base, state.pending);
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        double price = event.getType() == ChangeType.DELETED || event.getPrice() == null ? Double.NaN : event.getPrice();
+        writeLock.lock();
+        try {
+            Map<Long, Double> pending = new HashMap<>(state.pending);
+            pending.put(event.getId(), price);
+            if (ready && pending.size() > MERGE_THRESHOLD) {
+                state = new State(merge(state.base, pending), Map.of());
+            } else {
+                state = new State(state.base, pending);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Priced products with minPrice <= price <= maxPrice, ordered by price and then id.
+    public Range select(double minPrice, double maxPrice, boolean descending) {
+        return new Range(state, minPrice, maxPrice, descending);
+    }
+
+    private static Base merge(Base base, Map<Long, Double> pending) {
+        State overlay = new State(base, pending);
+        PairBuffer buffer = new PairBuffer();
+        int i = 0;
+        int j = 0;
+        while (true) {
+            while (i < base.ids.length && pending.containsKey(base.ids[i])) {
+                i++;
+            }
+            boolean hasBase = i < base.ids.length;
+            boolean hasLive = j < overlay.liveIds.length;
+            if (!hasBase && !hasLive) {
+                break;
+            }
+            if (hasBase && (!hasLive || compare(base.prices[i], base.ids[i], overlay.livePrices[j], overlay.liveIds[j]) < 0)) {
+                buffer.add(base.prices[i], base.ids[i++]);
+            } else {
+                buffer.add(overlay.livePrices[j], overlay.liveIds[j++]);
+            }
+        }
+        return buffer.toSortedBase();
+    }
+
+    private static int compare(double price1, long id1, double price2, long id2) {
+        int result = Double.compare(price1, price2);
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+
+    // First index in [from, to) whose price is >= price, or > price when strict.
+    private static int bound(double[] prices, int from, int to, double price, boolean strict) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = Double.compare(prices[mid], price);
+            if (c < 0 || (strict && c == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static class Range {
+
+        private final State state;
+        private final boolean descending;
+        private final int baseFrom;
+        private final int baseTo;
+        private final int liveFrom;
+        private final int liveTo;
+        private final long count;
+
+        Range(State state, double minPrice, double maxPrice, boolean descending) {
+            this.state = state;
+            this.descending = descending;
+            Base base = state.base;
+            baseFrom = bound(base.prices, 0, base.prices.length, minPrice, false);
+            baseTo = Math.max(baseFrom, bound(base.prices, 0, base.prices.length, maxPrice, true));
+            liveFrom = bound(state.livePrices, 0, state.livePrices.length, minPrice, false);
+            liveTo = Math.max(liveFrom, bound(state.livePrices, 0, state.livePrices.length, maxPrice, true));
+            int staleFrom = bound(state.stalePrices, 0, state.stalePrices.length, minPrice, false);
+            int staleTo = Math.max(staleFrom, bound(state.stalePrices, 0, state.stalePrices.length, maxPrice, true));
+            count = (baseTo - baseFrom) - (staleTo - staleFrom) + (liveTo - liveFrom);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public List<Long> page(long offset, int limit) {
+            Base base = state.base;
+            int step = descending ? -1 : 1;
+            int i = descending ? baseTo - 1 : baseFrom;
+            int iEnd = descending ? baseFrom - 1 : baseTo;
+            int j = descending ? liveTo - 1 : liveFrom;
+            int jEnd = descending ? liveFrom - 1 : liveTo;
+            long skip = offset;
+            List<Long> result = new ArrayList<>(limit);
+            while (result.size() < limit) {
+                while (i != iEnd && state.pending.containsKey(base.ids[i])) {
+                    i += step;
+                }
+                boolean hasBase = i != iEnd;
+                boolean hasLive = j != jEnd;
+                if (!hasBase && !hasLive) {
+                    break;
+                }
+                long id;
+                if (hasBase && (!hasLive || (compare(base.prices[i], base.ids[i], state.livePrices[j], state.liveIds[j]) < 0) != descending)) {
+                    id = base.ids[i];
+                    i += step;
+                } else {
+                    id = state.liveIds[j];
+                    j += step;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class State {
+
+        final Base base;
+        // id -> latest price, NaN when the product was deleted or has no price
+        final Map<Long, Double> pending;
+        final double[] livePrices;
+        final long[] liveIds;
+        // prices in the base arrays of the ids overridden by pending, for counting
+        final double[] stalePrices;
+
+        State(Base base, Map<Long, Double> pending) {
+            this.base = base;
+            this.pending = pending;
+            PairBuffer live = new PairBuffer();
+            List<Double> stale = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : pending.entrySet()) {
+                if (!entry.getValue().isNaN()) {
+                    live.add(entry.getValue(), entry.getKey());
+                }
+                double old = base.priceOf(entry.getKey());
+                if (!Double.isNaN(old)) {
+                    stale.add(old);
+                }
+            }
+            Base sorted = live.toBase();
+            livePrices = sorted.prices;
+            liveIds = sorted.ids;
+            stalePrices = stale.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        }
+    }
+
+    private static class Base {
+
+        static final Base EMPTY = new Base(new double[0], new long[0]);
+
+        // sorted by price, then id
+        final double[] prices;
+        final long[] ids;
+        // the same pairs sorted by id, to find the indexed price of a product
+        final long[] idOrder;
+        final double[] idPrices;
+
+        Base(double[] prices, long[] ids) {
+            this.prices = prices;
+            this.ids = ids;
+            idOrder = ids.clone();
+            Arrays.sort(idOrder);
+            idPrices = new double[ids.length];
+            for (int k = 0; k < ids.length; k++) {
+                idPrices[Arrays.binarySearch(idOrder, ids[k])] = prices[k];
+            }
+        }
+
+        double priceOf(long id) {
+            int k = Arrays.binarySearch(idOrder, id);
+            return k >= 0 ? idPrices[k] : Double.NaN;
+        }
+    }
+
+    private static class PairBuffer {
+
+        private double[] prices = new double[16];
+        private long[] ids = new long[16];
+        private int size;
+
+        void add(double price, long id) {
+            if (size == ids.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            prices[size] = price;
+            ids[size] = id;
+            size++;
+        }
+
+        Base toSortedBase() {
+            return new Base(Arrays.copyOf(prices, size), Arrays.copyOf(ids, size));
+        }
+
+        Base toBase() {
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(k -> prices[k]).thenComparingLong(k -> ids[k]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            double[] sortedPrices = new double[size];
+            long[] sortedIds = new long[size];
+            for (int k = 0; k < size; k++) {
+                sortedPrices[k] = prices[order[k]];
+                sortedIds[k] = ids[order[k]];
+            }
+            return new Base(sortedPrices, sortedIds);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+/*
+ * BM25 over product names and descriptions, with prefix matching. The corpus is built into a separate
+ * instance while changes received meanwhile are kept aside, then those changes are replayed on top of
+ * what was read and the result is published. Until then isReady is false and callers go to the database.
+ */
+@Component
+public class ProductTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Corpus corpus = new Corpus();
+    // Changes received before the build is published: product id -> its term frequencies, null when deleted
+    private final Map<Long, Map<String, Integer>> pending = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Corpus built = new Corpus();
+        Pageable pageable = PageRequest.of(0, BUILD_PAGE_SIZE, Sort.by("id"));
+        Slice<Product> slice;
+        do {
+            slice = repository.findAllBy(pageable);
+            slice.forEach(x -> built.put(x.getId(), frequencies(x.getName(), x.getDescription())));
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            // The pending changes are at least as recent as the pages just read, which may predate them
+            pending.forEach((id, frequencies) -> {
+                if (frequencies == null) {
+                    built.remove(id);
+                } else {
+                    built.put(id, frequencies);
+                }
+            });
+            pending.clear();
+            corpus = built;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            remove(event.getId());
+        } else {
+            put(event.getId(), event.getName(), event.getDescription());
+        }
+    }
+
+    public void put(Long id, String name, String description) {
+        Map<String, Integer> frequencies = frequencies(name, description);
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                corpus.put(id, frequencies);
+            } else {
+                pending.put(id, frequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                corpus.remove(id);
+            } else {
+                pending.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Every term must match, either as a whole word or as a prefix; best BM25 score first.
+    public List<Long> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (corpus.documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) corpus.totalLength / corpus.documents.size();
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = score(term, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+            return ranked.stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String term, double averageLength) {
+        Map<String, Map<Long, Integer>> matches = term.length() < MIN_PREFIX_LENGTH
+                ? exactMatch(term)
+                : corpus.postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        int documentCount = corpus.documents.size();
+        Map<Long, Double> scores = new HashMap<>();
+        matches.forEach((match, docs) -> {
+            double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            double weight = match.equals(term) ? 1.0 : PREFIX_WEIGHT;
+            docs.forEach((id, frequency) -> {
+                double norm = K1 * (1 - B + B * corpus.documents.get(id).length / averageLength);
+                double score = weight * idf * frequency * (K1 + 1) / (frequency + norm);
+                scores.merge(id, score, Math::max);
+            });
+        });
+        return scores;
+    }
+
+    private Map<String, Map<Long, Integer>> exactMatch(String term) {
+        Map<Long, Integer> docs = corpus.postings.get(term);
+        return docs == null ? Map.of() : Map.of(term, docs);
+    }
+
+    private static Map<String, Integer> frequencies(String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(name).forEach(x -> frequencies.merge(x, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(x -> frequencies.merge(x, 1, Integer::sum));
+        return frequencies;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class Corpus {
+
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private long totalLength;
+
+        void put(Long id, Map<String, Integer> frequencies) {
+            remove(id);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, x -> new HashMap<>()).put(id, frequency));
+            documents.put(id, new Document(frequencies.keySet(), length));
+            totalLength += length;
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length;
+        }
+    }
+
+    private static class Document {
+
+        private final Set<String> terms;
+        private final int length;
+
+        Document(Set<String> terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/*
+ * Compressed set of non-negative ints split into 2^16 chunks by their high 16 bits.
+ * Sparse chunks keep a sorted char array, dense chunks (more than 4096 values) a 8 KiB bitmap.
+ * Not thread safe; callers guard shared instances.
+ */
+public class RoaringBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+
+    private int[] keys = new int[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public void add(int value) {
+        int high = value >>> 16;
+        char low = (char) value;
+        int i = Arrays.binarySearch(keys, 0, size, high);
+        if (i >= 0) {
+            containers[i] = containers[i].add(low);
+        } else {
+            insert(-i - 1, high, new ArrayContainer().add(low));
+        }
+    }
+
+    public void remove(int value) {
+        int i = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        if (i < 0) {
+            return;
+        }
+        Container container = containers[i].remove((char) value);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        } else {
+            containers[i] = container;
+        }
+    }
+
+    public boolean contains(int value) {
+        int i = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = Container.and(containers[i], other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insert(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.insert(result.size, keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.insert(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insert(result.size, keys[i], Container.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public long andCardinality(RoaringBitmap other) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += Container.andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0; i < size; i++) {
+            result.insert(i, keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    // Values at positions [offset, offset + limit) in ascending order.
+    public List<Integer> page(long offset, int limit) {
+        List<Integer> result = new ArrayList<>(limit);
+        long skip = offset;
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            int cardinality = containers[i].cardinality();
+            if (skip >= cardinality) {
+                skip -= cardinality;
+                continue;
+            }
+            char[] values = containers[i].values();
+            for (int k = (int) skip; k < values.length && result.size() < limit; k++) {
+                result.add(keys[i] << 16 | values[k]);
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    private void insert(int index, int key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract char[] values();
+
+        abstract Container copy();
+
+        void forEach(int base, IntConsumer consumer) {
+            for (char value : values()) {
+                consumer.accept(base | value);
+            }
+        }
+
+        static Container and(Container a, Container b) {
+            if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+                BitmapContainer result = new BitmapContainer();
+                for (int k = 0; k < x.words.length; k++) {
+                    result.words[k] = x.words[k] & y.words[k];
+                    result.cardinality += Long.bitCount(result.words[k]);
+                }
+                return result.cardinality <= ARRAY_LIMIT ? result.toArrayContainer() : result;
+            }
+            if (a instanceof ArrayContainer x) {
+                return x.retain(b);
+            }
+            return ((ArrayContainer) b).retain(a);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a instanceof ArrayContainer x && b instanceof ArrayContainer y && x.cardinality + y.cardinality <= ARRAY_LIMIT) {
+                return x.union(y);
+            }
+            BitmapContainer result = a instanceof BitmapContainer x ? (BitmapContainer) x.copy() : ((ArrayContainer) a).toBitmapContainer();
+            for (char value : b.values()) {
+                result.set(value);
+            }
+            return result.cardinality <= ARRAY_LIMIT ? result.toArrayContainer() : result;
+        }
+
+        static int andCardinality(Container a, Container b) {
+            if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+                int total = 0;
+                for (int k = 0; k < x.words.length; k++) {
+                    total += Long.bitCount(x.words[k] & y.words[k]);
+                }
+                return total;
+            }
+            ArrayContainer array = a instanceof ArrayContainer x ? x : (ArrayContainer) b;
+            Container other = array == a ? b : a;
+            int total = 0;
+            for (int k = 0; k < array.cardinality; k++) {
+                if (other.contains(array.values[k])) {
+                    total++;
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_LIMIT) {
+                return toBitmapContainer().add(value);
+            }
+            int position = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        char[] values() {
+            return Arrays.copyOf(values, cardinality);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+
+        ArrayContainer retain(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            for (int k = 0; k < cardinality; k++) {
+                if (other.contains(values[k])) {
+                    result[n++] = values[k];
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        ArrayContainer union(ArrayContainer other) {
+            char[] result = new char[Math.max(cardinality + other.cardinality, 4)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j >= other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i >= cardinality || values[i] > other.values[j]) {
+                    result[n++] = other.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        BitmapContainer toBitmapContainer() {
+            BitmapContainer result = new BitmapContainer();
+            for (int k = 0; k < cardinality; k++) {
+                result.set(values[k]);
+            }
+            return result;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        void set(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArrayContainer() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        char[] values() {
+            char[] result = new char[cardinality];
+            int n = 0;
+            for (int k = 0; k < words.length; k++) {
+                long word = words[k];
+                while (word != 0) {
+                    result[n++] = (char) (k * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer result = new BitmapContainer();
+            System.arraycopy(words, 0, result.words, 0, words.length);
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        ArrayContainer toArrayContainer() {
+            return new ArrayContainer(values(), cardinality);
+        }
+    }
+}
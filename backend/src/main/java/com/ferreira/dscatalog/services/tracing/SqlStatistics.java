@@ -0,0 +1,66 @@
+package com.ferreira.dscatalog.services.tracing;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.ferreira.dscatalog.dto.SqlFingerprintDTO;
+
+/*
+ * Per-fingerprint statement statistics. Hibernate reuses the same SQL strings, so the fingerprint of
+ * a string is computed once and the hot path is a single map lookup. Both maps are bounded; once full,
+ * new statements are counted under one overflow fingerprint instead of growing the heap.
+ */
+public class SqlStatistics {
+
+    static final String OVERFLOW = "(other statements)";
+
+    private final long slowThresholdNanos;
+    private final int maxFingerprints;
+    private final int maxStatements;
+
+    private final ConcurrentMap<String, StatementStats> bySql = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementStats> byFingerprint = new ConcurrentHashMap<>();
+
+    public SqlStatistics(Duration slowThreshold, int maxFingerprints) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxFingerprints = maxFingerprints;
+        this.maxStatements = maxFingerprints * 10;
+    }
+
+    public StatementStats forSql(String sql) {
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        stats = forFingerprint(SqlFingerprint.of(sql));
+        if (bySql.size() < maxStatements) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    public List<SqlFingerprintDTO> top(int limit) {
+        return byFingerprint.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::getTotalNanos).reversed())
+                .limit(limit)
+                .map(StatementStats::toDTO)
+                .toList();
+    }
+
+    public void reset() {
+        bySql.clear();
+        byFingerprint.clear();
+    }
+
+    private StatementStats forFingerprint(String fingerprint) {
+        StatementStats stats = byFingerprint.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        String key = byFingerprint.size() < maxFingerprints ? fingerprint : OVERFLOW;
+        return byFingerprint.computeIfAbsent(key, x -> new StatementStats(x, slowThresholdNanos));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ferreira.dscatalog.services.tracing;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ferreira.dscatalog.dto.SqlFingerprintDTO;
+
+/*
+ * Counters of one fingerprint, updated without locks from any number of threads. Latencies go to
+ * power-of-two microsecond buckets, so percentiles are upper bounds within a factor of two.
+ */
+public class StatementStats {
+
+    private static final int BUCKETS = 64;
+
+    private final String fingerprint;
+    private final long slowThresholdNanos;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder slowCount = new LongAdder();
+    private final AtomicReference<SlowSample> slowSample = new AtomicReference<>();
+
+    StatementStats(String fingerprint, long slowThresholdNanos) {
+        this.fingerprint = fingerprint;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    public void recordExecution(String sql, long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets.incrementAndGet(bucket(nanos / 1000));
+        if (nanos >= slowThresholdNanos) {
+            // Only slow executions pay for keeping the full statement text
+            slowCount.increment();
+            slowSample.set(new SlowSample(sql, nanos, Instant.now()));
+        }
+    }
+
+    public void addRows(long value) {
+        rows.add(value);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public SqlFingerprintDTO toDTO() {
+        long executions = count.sum();
+        long total = totalNanos.sum();
+        SlowSample sample = slowSample.get();
+        SqlFingerprintDTO dto = new SqlFingerprintDTO();
+        dto.setFingerprint(fingerprint);
+        dto.setCount(executions);
+        dto.setErrors(errors.sum());
+        dto.setRows(rows.sum());
+        dto.setTotalMillis(total / 1e6);
+        dto.setMeanMillis(executions == 0 ? 0.0 : total / 1e6 / executions);
+        dto.setMaxMillis(maxNanos.get() / 1e6);
+        dto.setP50Millis(percentileMicros(0.50) / 1e3);
+        dto.setP95Millis(percentileMicros(0.95) / 1e3);
+        dto.setP99Millis(percentileMicros(0.99) / 1e3);
+        dto.setSlowCount(slowCount.sum());
+        if (sample != null) {
+            dto.setSlowSample(sample.sql);
+            dto.setSlowSampleMillis(sample.nanos / 1e6);
+            dto.setSlowSampleAt(sample.at);
+        }
+        return dto;
+    }
+
+    private long percentileMicros(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    // Bucket i holds values in [2^(i-1), 2^i - 1]; bucket 0 holds zero.
+    private static int bucket(long micros) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0L, micros)));
+    }
+
+    private static class SlowSample {
+
+        final String sql;
+        final long nanos;
+        final Instant at;
+
+        SlowSample(String sql, long nanos, Instant at) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ferreira.dscatalog.services.tracing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/*
+ * Wraps every DataSource so that statement executions are timed and counted by fingerprint.
+ * Everything else, unwrap() included, is passed to the real objects, so pool metrics and Hibernate
+ * still reach the underlying pool and driver.
+ */
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatistics> statisticsProvider;
+    private volatile SqlStatistics statistics;
+
+    public TracingDataSourcePostProcessor(ObjectProvider<SqlStatistics> statisticsProvider) {
+        this.statisticsProvider = statisticsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, null);
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, T target, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                return execute(target, method, args, preparedSql);
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return proxy(Connection.class, connection, null);
+            }
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall take the statement text as first argument
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxyAs(method.getReturnType(), result, sql);
+            }
+            if (result instanceof ResultSet resultSet && preparedSql != null && method.getName().equals("getResultSet")) {
+                return countRows(resultSet, statistics().forSql(preparedSql));
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object proxyAs(Class<T> type, Object target, String sql) {
+        return proxy(type, (T) target, sql);
+    }
+
+    private Object execute(Object target, Method method, Object[] args, String preparedSql) throws Throwable {
+        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+        if (sql == null) {
+            // executeBatch of statements added with Statement.addBatch(String)
+            return invoke(method, target, args);
+        }
+        StatementStats stats = statistics().forSql(sql);
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            Object result = invoke(method, target, args);
+            failed = false;
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet, stats);
+            }
+            stats.addRows(updateCount(result));
+            return result;
+        } finally {
+            stats.recordExecution(sql, System.nanoTime() - start, failed);
+        }
+    }
+
+    private static long updateCount(Object result) {
+        long rows = 0;
+        if (result instanceof Integer count) {
+            rows = count;
+        } else if (result instanceof Long count) {
+            rows = count;
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(0L, count);
+            }
+        }
+        return Math.max(0L, rows);
+    }
+
+    // Rows are counted as they are read and reported once, when the result set is exhausted or closed.
+    private static ResultSet countRows(ResultSet target, StatementStats stats) {
+        long[] rows = { 0, 0 };
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            String name = method.getName();
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows[0]++;
+            } else if ((name.equals("next") || name.equals("close")) && rows[1] == 0) {
+                rows[1] = 1;
+                stats.addRows(rows[0]);
+            }
+            return result;
+        };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, handler);
+    }
+
+    private SqlStatistics statistics() {
+        SqlStatistics current = statistics;
+        if (current == null) {
+            current = statisticsProvider.getObject();
+            statistics = current;
+        }
+        return current;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
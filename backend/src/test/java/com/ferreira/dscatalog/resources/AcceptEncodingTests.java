@@ -0,0 +1,27 @@
+package com.ferreira.dscatalog.resources;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AcceptEncodingTests {
+
+    @Test
+    public void acceptsGzipShouldReturnTrueWhenGzipIsListedWithPositiveQuality() {
+        Assertions.assertTrue(AcceptEncoding.acceptsGzip("gzip"));
+        Assertions.assertTrue(AcceptEncoding.acceptsGzip("deflate, gzip;q=0.5"));
+        Assertions.assertTrue(AcceptEncoding.acceptsGzip("br;q=1.0, GZIP ; Q=0.001"));
+        Assertions.assertTrue(AcceptEncoding.acceptsGzip("*"));
+    }
+
+    @Test
+    public void acceptsGzipShouldReturnFalseWhenGzipIsRefusedOrAbsent() {
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip(null));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip(""));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("identity"));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("gzip; q=0.000"));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("*;q=1, gzip;q=0"));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("*;q=0"));
+        Assertions.assertFalse(AcceptEncoding.acceptsGzip("gzip;q=abc"));
+    }
+}
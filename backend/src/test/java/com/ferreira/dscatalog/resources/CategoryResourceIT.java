@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +18,9 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.ferreira.dscatalog.dto.CategoryDTO;
 import com.ferreira.dscatalog.factories.CategoryFactory;
 
@@ -71,6 +74,29 @@ public class CategoryResourceIT {
                 .andExpect(jsonPath("$.content[2].name").value("Electronics"));
     }
 
+    @Test
+    public void findAllPagedShouldReturnCountedPageWhenCountIsGiven() throws Exception {
+        mockMvc.perform(get("/categories?page=0&size=2&count=exact")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.countMode").value("exact"))
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCountedPageAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/categories?page=0&size=2&count=exact")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new CBORFactory()).readTree(body);
+        Assertions.assertEquals("exact", page.get("countMode").asText());
+        Assertions.assertEquals(3, page.get("totalElements").asLong());
+    }
+
     @Test
     public void findByIdShouldReturnCategoryDTOWhendIdExists() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/categories/{id}", existingId)
@@ -5,20 +5,27 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.ferreira.dscatalog.dto.ProductDTO;
 import com.ferreira.dscatalog.factories.ProductFactory;
+import com.ferreira.dscatalog.resources.protobuf.CatalogProto;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -68,6 +75,112 @@ public class ProductResourceIT {
                 .andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
     }
 
+    @Test
+    public void findAllPagedShouldReturnProtobufPageWhenAcceptIsProtobuf() throws Exception {
+        byte[] body = mockMvc.perform(get("/products?page=0&size=5&sort=name")
+                .accept(CatalogProto.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(CatalogProto.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Page<Object> page = CatalogProto.decodePage(body);
+        Assertions.assertEquals(25, page.getTotalElements());
+        Assertions.assertEquals("Macbook Pro", ((ProductDTO) page.getContent().get(0)).getName());
+    }
+
+    @Test
+    public void patchAllShouldReturnProtobufListWhenAcceptIsProtobuf() throws Exception {
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.patch("/products")
+                .content("[{\"id\":1,\"price\":99.5},{\"id\":2,\"price\":10.0}]")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(CatalogProto.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(CatalogProto.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Page<Object> list = CatalogProto.decodePage(body);
+        Assertions.assertEquals(2, list.getNumberOfElements());
+        Assertions.assertEquals(99.5, ((ProductDTO) list.getContent().get(0)).getPrice());
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCborWhenAcceptIsCbor() throws Exception {
+        mockMvc.perform(get("/products?page=0&size=5")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCountedPageWhenCountIsGiven() throws Exception {
+        mockMvc.perform(get("/products?page=0&size=5&count=exact")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(25))
+                .andExpect(jsonPath("$.countMode").value("exact"))
+                .andExpect(jsonPath("$.content.length()").value(5));
+    }
+
+    @Test
+    public void findAllPagedShouldReturnFacetedPageWhenCategoryIdIsGiven() throws Exception {
+        mockMvc.perform(get("/products?categoryId=1,3&page=0&size=5")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(23))
+                .andExpect(jsonPath("$.facets.1").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(2));
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCountedPageAsCborAndSmile() throws Exception {
+        JsonNode cbor = binary("/products?page=0&size=5&count=exact", MediaType.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()));
+        JsonNode smile = binary("/products?page=0&size=5&count=exact", new MediaType("application", "x-jackson-smile"), new ObjectMapper(new SmileFactory()));
+
+        Assertions.assertEquals("exact", cbor.get("countMode").asText());
+        Assertions.assertEquals(25, cbor.get("totalElements").asLong());
+        Assertions.assertEquals(cbor, smile);
+    }
+
+    @Test
+    public void findAllPagedShouldReturnFacetedPageAsCborAndSmile() throws Exception {
+        JsonNode cbor = binary("/products?categoryId=1,3&page=0&size=5", MediaType.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()));
+        JsonNode smile = binary("/products?categoryId=1,3&page=0&size=5", new MediaType("application", "x-jackson-smile"), new ObjectMapper(new SmileFactory()));
+
+        Assertions.assertEquals(23, cbor.get("facets").get("3").asLong());
+        Assertions.assertEquals(5, cbor.get("content").size());
+        Assertions.assertEquals(cbor, smile);
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/products/{id}", existingId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/products/{id}", existingId)
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    public void findByIdShouldSendWeakETagVaryingByAccept() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/products/{id}", existingId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        Assertions.assertTrue(response.getHeaders("Vary").contains("Accept"));
+        Assertions.assertTrue(response.getHeader("ETag").startsWith("W/\""));
+        mockMvc.perform(get("/products/{id}", existingId)
+                .header("If-None-Match", response.getHeader("ETag"))
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     public void findByIdShouldReturnProductDTOWhendIdExists() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
@@ -126,4 +239,13 @@ public class ProductResourceIT {
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
+
+    private JsonNode binary(String uri, MediaType mediaType, ObjectMapper reader) throws Exception {
+        byte[] body = mockMvc.perform(get(uri)
+                .accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return reader.readTree(body);
+    }
 }
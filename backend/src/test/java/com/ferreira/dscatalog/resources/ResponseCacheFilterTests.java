@@ -0,0 +1,241 @@
+package com.ferreira.dscatalog.resources;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.CachedResponse;
+import com.ferreira.dscatalog.services.cache.ResponseCacheInvalidator;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ResponseCacheFilterTests {
+
+    private BoundedCache<String, CachedResponse> cache;
+    private ThreadPoolExecutor refreshes;
+    private ResponseCacheFilter filter;
+    private AtomicInteger calls;
+    private FilterChain chain;
+    private String json;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BoundedCache<>("responses", 100, 1 << 20, CachedResponse::weight, Duration.ofMinutes(1), CachedResponse::getPath);
+        refreshes = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10));
+        filter = new ResponseCacheFilter(cache, Duration.ofMinutes(1), refreshes);
+        calls = new AtomicInteger();
+        json = "{\"content\":[" + "{\"name\":\"Smart TV\"},".repeat(100) + "{}]}";
+        chain = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setHeader(HttpHeaders.ETAG, "\"abc\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshes.shutdownNow();
+    }
+
+    @Test
+    public void doFilterShouldServeStoredBytesWhenSameNormalizedRequestIsRepeated() throws Exception {
+        MockHttpServletResponse first = get("/products", "size=12&page=0", null);
+        MockHttpServletResponse second = get("/products", "page=0&size=12", null);
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals("MISS", first.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("HIT", second.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals(json, second.getContentAsString());
+        Assertions.assertEquals("\"abc\"", second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void doFilterShouldServeGzipVariantWhenClientAcceptsIt() throws Exception {
+        get("/products", "page=0", null);
+        MockHttpServletResponse response = get("/products", "page=0", "gzip, deflate");
+
+        Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertEquals(json, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void doFilterShouldAnswerNotModifiedWhenETagMatches() throws Exception {
+        get("/products/1", null, null);
+        MockHttpServletRequest request = request("/products/1", null, null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void doFilterShouldSendSameVaryOnMissAndHit() throws Exception {
+        MockHttpServletResponse miss = get("/products", "page=0", null);
+        MockHttpServletResponse hit = get("/products", "page=0", null);
+
+        Assertions.assertEquals("Accept, Accept-Encoding", miss.getHeader(HttpHeaders.VARY));
+        Assertions.assertEquals(miss.getHeader(HttpHeaders.VARY), hit.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    public void doFilterShouldAnswerNotModifiedWhenWeakETagMatches() throws Exception {
+        chain = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setHeader(HttpHeaders.ETAG, "W/\"abc\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        };
+        get("/products/1", null, null);
+        MockHttpServletRequest request = request("/products/1", null, null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        Assertions.assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void doFilterShouldAnswerNotModifiedWhenNotModifiedSinceAndNoETagIsSent() throws Exception {
+        chain = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setHeader(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        };
+        get("/products/1", null, null);
+        MockHttpServletRequest unchanged = request("/products/1", null, null);
+        unchanged.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 21 Oct 2015 07:28:00 GMT");
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        filter.doFilter(unchanged, notModified, chain);
+        MockHttpServletRequest older = request("/products/1", null, null);
+        older.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 20 Oct 2015 07:28:00 GMT");
+        MockHttpServletResponse modified = new MockHttpServletResponse();
+        filter.doFilter(older, modified, chain);
+
+        Assertions.assertEquals(304, notModified.getStatus());
+        Assertions.assertEquals(0, notModified.getContentAsByteArray().length);
+        Assertions.assertEquals(200, modified.getStatus());
+        Assertions.assertEquals(json, modified.getContentAsString());
+    }
+
+    @Test
+    public void doFilterShouldServeStaleEntryAndScheduleOneRefresh() throws Exception {
+        filter = new ResponseCacheFilter(cache, Duration.ZERO, refreshes);
+        get("/products", "page=0", null);
+        CachedResponse stale = cache.get("/products?page=0 */*");
+        CountDownLatch busy = new CountDownLatch(1);
+        refreshes.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        MockHttpServletResponse first = get("/products", "page=0", null);
+        MockHttpServletResponse concurrent = get("/products", "page=0", null);
+
+        Assertions.assertEquals("STALE", first.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("STALE", concurrent.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals(json, first.getContentAsString());
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, refreshes.getQueue().size());
+
+        // Nothing listens on the request's local port here, so the refresh fails and releases the entry
+        busy.countDown();
+        refreshes.shutdown();
+        Assertions.assertTrue(refreshes.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(stale.startRefresh());
+    }
+
+    @Test
+    public void doFilterShouldReplaceEntryThroughHandlerWhenRequestCarriesRefreshToken() throws Exception {
+        get("/products", "page=0", null);
+        CachedResponse before = cache.get("/products?page=0 */*");
+        MockHttpServletRequest forged = request("/products", "page=0", null);
+        forged.addHeader(ResponseCacheFilter.REFRESH_HEADER, "guess");
+        MockHttpServletResponse hit = new MockHttpServletResponse();
+        filter.doFilter(forged, hit, chain);
+        MockHttpServletRequest refresh = request("/products", "page=0", null);
+        refresh.addHeader(ResponseCacheFilter.REFRESH_HEADER, filter.refreshToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(refresh, response, chain);
+
+        Assertions.assertEquals("HIT", hit.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("REFRESH", response.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals(json, response.getContentAsString());
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertNotSame(before, cache.get("/products?page=0 */*"));
+    }
+
+    @Test
+    public void productChangeShouldInvalidateListsAndItsOwnPageOnly() throws Exception {
+        get("/products", "page=0", null);
+        get("/products/1", null, null);
+        get("/products/2", null, null);
+        get("/categories", null, null);
+
+        new ResponseCacheInvalidator(cache).onProductChanged(new ProductChangedEvent(1L, ChangeType.UPDATED));
+
+        Assertions.assertEquals("MISS", get("/products", "page=0", null).getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("MISS", get("/products/1", null, null).getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("HIT", get("/products/2", null, null).getHeader(ResponseCacheFilter.CACHE_HEADER));
+        Assertions.assertEquals("HIT", get("/categories", null, null).getHeader(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    public void doFilterShouldBypassCacheWhenRequestIsAuthenticated() throws Exception {
+        MockHttpServletRequest request = request("/products", null, null);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(0, cache.stats().getSize());
+    }
+
+    private MockHttpServletResponse get(String path, String query, String acceptEncoding) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, query, acceptEncoding), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String query, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String pair : query.split("&")) {
+                String[] parts = pair.split("=");
+                request.addParameter(parts[0], parts[1]);
+            }
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+}
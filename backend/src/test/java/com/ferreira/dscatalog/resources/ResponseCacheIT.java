@@ -0,0 +1,80 @@
+package com.ferreira.dscatalog.resources;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.ferreira.dscatalog.services.cache.BoundedCache;
+import com.ferreira.dscatalog.services.cache.CachedResponse;
+
+/*
+ * Not @Transactional: the cache is only invalidated by changes that commit. Every entry is stale as
+ * soon as it is stored, so reads also go through the background refresh on the real connector.
+ * Changed rows are put back because the in-memory database is shared with the other tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "app.response-cache.enabled=true", "app.response-cache.ttl=0s" })
+public class ResponseCacheIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BoundedCache<String, CachedResponse> responseCache;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void findByIdShouldNotServeOldBodyAfterUpdateCommits() throws Exception {
+        HttpResponse<String> before = send("GET", "/products/3", null);
+        Assertions.assertEquals("MISS", before.headers().firstValue(ResponseCacheFilter.CACHE_HEADER).orElse(null));
+        Assertions.assertTrue(before.body().contains("\"name\":\"Macbook Pro\""));
+
+        try {
+            Assertions.assertEquals(200, send("PATCH", "/products/3", "{\"name\":\"Macbook Air\"}").statusCode());
+            HttpResponse<String> after = send("GET", "/products/3", null);
+
+            Assertions.assertEquals("MISS", after.headers().firstValue(ResponseCacheFilter.CACHE_HEADER).orElse(null));
+            Assertions.assertTrue(after.body().contains("\"name\":\"Macbook Air\""));
+        } finally {
+            send("PATCH", "/products/3", "{\"name\":\"Macbook Pro\"}");
+        }
+    }
+
+    @Test
+    public void findAllShouldServeStaleEntryWhileItIsRefreshedInBackground() throws Exception {
+        String key = "/categories?page=0&size=2 " + MediaType.APPLICATION_JSON_VALUE;
+        send("GET", "/categories?page=0&size=2", null);
+        CachedResponse stored = responseCache.get(key);
+
+        HttpResponse<String> stale = send("GET", "/categories?page=0&size=2", null);
+
+        Assertions.assertEquals("STALE", stale.headers().firstValue(ResponseCacheFilter.CACHE_HEADER).orElse(null));
+        Assertions.assertEquals(new String(stored.getBody()), stale.body());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (responseCache.get(key) == stored && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertNotSame(stored, responseCache.get(key));
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (json != null) {
+            request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,52 @@
+package com.ferreira.dscatalog.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class UserResourceIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void findAllPagedShouldReturnCountedPageWhenCountIsGiven() throws Exception {
+        mockMvc.perform(get("/users?page=0&size=1&count=exact")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.countMode").value("exact"))
+                .andExpect(jsonPath("$.content[0].email").exists());
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCountedPageAsSmile() throws Exception {
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+        byte[] body = mockMvc.perform(get("/users?page=0&size=1&count=exact")
+                .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(body);
+        Assertions.assertEquals("exact", page.get("countMode").asText());
+        Assertions.assertEquals(2, page.get("totalElements").asLong());
+    }
+}
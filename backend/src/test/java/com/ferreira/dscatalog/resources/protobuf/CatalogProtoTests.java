@@ -0,0 +1,70 @@
+package com.ferreira.dscatalog.resources.protobuf;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.FacetedPageDTO;
+import com.ferreira.dscatalog.dto.ProductDTO;
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.dto.UserDTO;
+
+public class CatalogProtoTests {
+
+    @Test
+    public void decodeProductShouldReturnEqualFieldsWhenEncodedProductIsGiven() {
+        ProductDTO dto = new ProductDTO(1L, "Phone", "ação ✓ ".repeat(40), 800.5, "https://img.com/img.png", Instant.parse("2020-10-20T03:00:00.123Z"));
+        dto.getCategories().add(new CategoryDTO(2L, "Electronics"));
+
+        ProductDTO result = CatalogProto.decodeProduct(CatalogProto.encode(dto));
+
+        Assertions.assertEquals(dto.getId(), result.getId());
+        Assertions.assertEquals(dto.getName(), result.getName());
+        Assertions.assertEquals(dto.getDescription(), result.getDescription());
+        Assertions.assertEquals(dto.getPrice(), result.getPrice());
+        Assertions.assertEquals(dto.getImgUrl(), result.getImgUrl());
+        Assertions.assertEquals(dto.getDate(), result.getDate());
+        Assertions.assertEquals("Electronics", result.getCategories().get(0).getName());
+    }
+
+    @Test
+    public void decodeProductShouldKeepNullsWhenFieldsAreMissing() {
+        ProductDTO result = CatalogProto.decodeProduct(CatalogProto.encode(new ProductDTO(null, "Phone", null, null, null, null)));
+
+        Assertions.assertNull(result.getId());
+        Assertions.assertNull(result.getPrice());
+        Assertions.assertNull(result.getDate());
+        Assertions.assertEquals("Phone", result.getName());
+    }
+
+    @Test
+    public void decodePageShouldReturnContentPagingAndFacets() {
+        UserDTO user = new UserDTO(1L, "Alex", "Brown", "alex@gmail.com");
+        user.getRoleDTOs().add(new RoleDTO(1L, "ROLE_OPERATOR"));
+        Page<UserDTO> users = new PageImpl<>(List.of(user), PageRequest.of(2, 10), 21);
+        Page<CategoryDTO> categories = new FacetedPageDTO<>(List.of(new CategoryDTO(1L, "Books")), PageRequest.of(0, 1), 3, Map.of(1L, 7L));
+
+        Page<Object> userPage = CatalogProto.decodePage(CatalogProto.encode(users));
+        Page<Object> categoryPage = CatalogProto.decodePage(CatalogProto.encode(categories));
+
+        Assertions.assertEquals(2, userPage.getNumber());
+        Assertions.assertEquals(21, userPage.getTotalElements());
+        Assertions.assertEquals("ROLE_OPERATOR", ((UserDTO) userPage.getContent().get(0)).getRoleDTOs().iterator().next().getAuthority());
+        Assertions.assertEquals(Map.of(1L, 7L), ((FacetedPageDTO<Object>) categoryPage).getFacets());
+    }
+
+    @Test
+    public void canEncodeShouldRejectPagesOfUnsupportedTypes() {
+        Assertions.assertTrue(CatalogProto.canEncode(ResolvableType.forClassWithGenerics(Page.class, ProductDTO.class)));
+        Assertions.assertFalse(CatalogProto.canEncode(ResolvableType.forClassWithGenerics(Page.class, Map.class)));
+        Assertions.assertFalse(CatalogProto.canEncode(ResolvableType.forClass(PageImpl.class)));
+    }
+}
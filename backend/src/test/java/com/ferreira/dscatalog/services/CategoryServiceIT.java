@@ -1,6 +1,8 @@
 package com.ferreira.dscatalog.services;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,9 +17,12 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
 import com.ferreira.dscatalog.entities.Category;
 import com.ferreira.dscatalog.factories.CategoryFactory;
 import com.ferreira.dscatalog.repositories.CategoryRepository;
+import com.ferreira.dscatalog.repositories.KeysetCursor;
+import com.ferreira.dscatalog.repositories.KeysetRepository;
 import com.ferreira.dscatalog.services.exceptions.DatabaseException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
 
@@ -31,6 +36,12 @@ public class CategoryServiceIT {
     @Autowired
     private CategoryRepository repository;
 
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private KeysetRepository keysetRepository;
+
     private Long existingId;
     private Long nonExistingId;
     private Long dependentId;
@@ -46,6 +57,25 @@ public class CategoryServiceIT {
         categoryDTO = CategoryFactory.createCategoryDTO();
     }
 
+    @Test
+    public void catalogFindPageShouldFollowSameOrderAndCursorsAsDatabase() {
+        Set<String> keys = Set.of("name", "createdAt");
+        for (Sort sort : List.of(Sort.by("name"), Sort.by(Sort.Direction.DESC, "createdAt"), Sort.by(Sort.Direction.DESC, "id"))) {
+            long seen = 0;
+            KeysetCursor cursor = KeysetCursor.first(sort, keys);
+            while (cursor != null) {
+                CursorPageDTO<CategoryDTO> fromCatalog = catalog.findPage(cursor, 1);
+                CursorPageDTO<Category> fromDatabase = keysetRepository.findPage(Category.class, cursor, 1);
+
+                Assertions.assertEquals(fromDatabase.map(Category::getId).getContent(), fromCatalog.map(CategoryDTO::getId).getContent());
+                Assertions.assertEquals(fromDatabase.getNextCursor(), fromCatalog.getNextCursor());
+                seen += fromCatalog.getContent().size();
+                cursor = fromCatalog.isLast() ? null : KeysetCursor.decode(fromCatalog.getNextCursor(), keys);
+            }
+            Assertions.assertEquals(repository.count(), seen);
+        }
+    }
+
     @Test
     public void insertShouldSaveAndReturnCategoryDTO() {
         categoryDTO.setId(null);
@@ -86,6 +116,17 @@ public class CategoryServiceIT {
         Assertions.assertEquals("Electronics", result.getContent().get(2).getName());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NEVER)
+    public void findAllPagedShouldServeSortedPageFromCatalogOutsideTransaction() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name"));
+        Page<CategoryDTO> result = service.findAllPaged(pageable);
+
+        Assertions.assertEquals(3, result.getTotalElements());
+        Assertions.assertEquals("Electronics", result.getContent().get(0).getName());
+        Assertions.assertEquals("Computers", result.getContent().get(1).getName());
+    }
+
     @Test
     public void findByIdShouldReturnCategoryDTOWhenIdExists() {
         CategoryDTO result = service.findById(existingId);
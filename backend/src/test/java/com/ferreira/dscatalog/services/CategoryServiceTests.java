@@ -11,14 +11,17 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.ferreira.dscatalog.dto.CategoryDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
 import com.ferreira.dscatalog.entities.Category;
 import com.ferreira.dscatalog.factories.CategoryFactory;
 import com.ferreira.dscatalog.repositories.CategoryRepository;
@@ -36,6 +39,12 @@ public class CategoryServiceTests {
     @Mock
     private CategoryRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryCatalog catalog;
+
     private Long existingId;
     private Long nonExistingId;
     private Long dependentId;
@@ -43,7 +52,7 @@ public class CategoryServiceTests {
     private Category category;
     private CategoryDTO categoryDTO;
 
-    private PageImpl<Category> page;
+    private PageImpl<CategoryDTO> page;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -54,14 +63,14 @@ public class CategoryServiceTests {
         category = CategoryFactory.createCategory();
         categoryDTO = CategoryFactory.createCategoryDTO();
 
-        page = new PageImpl<>(List.of(category));
+        page = new PageImpl<>(List.of(new CategoryDTO(category)));
 
         Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(category);
 
-        Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(category));
-        Mockito.when(repository.findById(nonExistingId)).thenReturn(Optional.empty());
+        Mockito.when(catalog.findById(existingId)).thenReturn(Optional.of(new CategoryDTO(category)));
+        Mockito.when(catalog.findById(nonExistingId)).thenReturn(Optional.empty());
 
-        Mockito.when(repository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
+        Mockito.when(catalog.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
         Mockito.when(repository.getReferenceById(existingId)).thenReturn(category);
         Mockito.when(repository.getReferenceById(nonExistingId)).thenThrow(EntityNotFoundException.class);
         Mockito.when(repository.existsById(existingId)).thenReturn(true);
@@ -83,6 +92,17 @@ public class CategoryServiceTests {
         Mockito.verify(repository).save(ArgumentMatchers.any());
     }
 
+    @Test
+    public void findAllSeekShouldReturnCursorPageFromCatalog() {
+        CursorPageDTO<CategoryDTO> cursorPage = new CursorPageDTO<>(List.of(new CategoryDTO(category)), 5, null);
+        Mockito.when(catalog.findPage(ArgumentMatchers.any(), ArgumentMatchers.eq(5))).thenReturn(cursorPage);
+
+        CursorPageDTO<CategoryDTO> result = service.findAllSeek("", PageRequest.of(0, 5, Sort.by("name")));
+
+        Assertions.assertSame(cursorPage, result);
+        Mockito.verify(catalog).findPage(ArgumentMatchers.any(), ArgumentMatchers.eq(5));
+    }
+
     @Test
     public void findAllPagedShouldReturnCategoryDTOPage() {
         Pageable pageable = PageRequest.of(0, 1);
@@ -92,7 +112,8 @@ public class CategoryServiceTests {
         Assertions.assertFalse(result.isEmpty());
         Assertions.assertEquals(0, result.getNumber());
         Assertions.assertEquals(1, result.getSize());
-        Mockito.verify(repository).findAll(pageable);
+        Mockito.verify(catalog).findAll(pageable);
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
@@ -110,7 +131,7 @@ public class CategoryServiceTests {
             service.findById(nonExistingId);
         });
 
-        Mockito.verify(repository).findById(nonExistingId);
+        Mockito.verify(catalog).findById(nonExistingId);
     }
 
     @Test
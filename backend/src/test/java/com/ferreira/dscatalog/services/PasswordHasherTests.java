@@ -0,0 +1,46 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ferreira.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordHasherTests {
+
+    @Test
+    public void hashAllShouldReturnHashesInInputOrder() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordHasher hasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 2, 10, Duration.ofSeconds(10));
+        try {
+            List<String> result = hasher.hashAll(List.of("one", "two", "three"));
+
+            Assertions.assertEquals(3, result.size());
+            Assertions.assertTrue(encoder.matches("one", result.get(0)));
+            Assertions.assertTrue(encoder.matches("two", result.get(1)));
+            Assertions.assertTrue(encoder.matches("three", result.get(2)));
+        } finally {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    public void hashAllShouldThrowServiceUnavailableExceptionWhenQueueIsFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(12), registry, 1, 1, Duration.ofSeconds(10));
+        try {
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> {
+                hasher.hashAll(Collections.nCopies(3, "secret"));
+            });
+            Assertions.assertEquals(1.0, registry.get("password.hash.rejected").counter().count());
+        } finally {
+            hasher.destroy();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ferreira.dscatalog.services;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferreira.dscatalog.dto.ProductDTO;
+
+@SpringBootTest
+public class ProductExportServiceIT {
+
+    @Autowired
+    private ProductExportService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void exportShouldWriteOneLinePerProductWithCategories() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ProductDTO second = objectMapper.readValue(lines[1], ProductDTO.class);
+        Assertions.assertEquals(25, lines.length);
+        Assertions.assertEquals(2L, second.getId());
+        Assertions.assertEquals(2, second.getCategories().size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.ferreira.dscatalog.services;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ferreira.dscatalog.dto.ImportReportDTO;
+import com.ferreira.dscatalog.repositories.ProductRepository;
+
+@SpringBootTest
+@Transactional
+public class ProductImportServiceIT {
+
+    @Autowired
+    private ProductImportService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    public void importProductsShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        String feed = "{\"name\":\"Phone\",\"price\":999.9,\"categories\":[{\"id\":2}]}\n"
+                + "{\"name\":\"Ghost\",\"price\":1.0,\"categories\":[{\"id\":1000}]}\n"
+                + "{not json}\n";
+        long countBefore = repository.count();
+
+        ImportReportDTO report = service.importProducts(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)), ProductImportService.NDJSON);
+
+        Assertions.assertEquals(3, report.getReceived());
+        Assertions.assertEquals(1, report.getInserted());
+        Assertions.assertEquals(2, report.getFailed());
+        Assertions.assertEquals(2, report.getErrors().get(0).getLine());
+        Assertions.assertEquals(countBefore + 1, repository.count());
+    }
+}
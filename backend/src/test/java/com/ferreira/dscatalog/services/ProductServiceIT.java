@@ -1,6 +1,12 @@
 package com.ferreira.dscatalog.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +17,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferreira.dscatalog.dto.CountedPageDTO;
+import com.ferreira.dscatalog.dto.CursorPageDTO;
+import com.ferreira.dscatalog.dto.FacetedPageDTO;
 import com.ferreira.dscatalog.dto.ProductDTO;
 import com.ferreira.dscatalog.entities.Product;
 import com.ferreira.dscatalog.factories.ProductFactory;
 import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.exceptions.InvalidRequestException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.ferreira.dscatalog.services.index.CategoryBitmapIndex;
+import com.ferreira.dscatalog.services.index.ProductTextIndex;
 
 @SpringBootTest
 @Transactional
@@ -29,6 +44,15 @@ public class ProductServiceIT {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryBitmapIndex categoryIndex;
+
+    @Autowired
+    private ProductTextIndex textIndex;
+
     private Long existingId;
     private Long nonExistingId;
 
@@ -82,6 +106,178 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
 
+    @Test
+    public void findAllPagedShouldReportCountModeWhenCountModeIsGiven() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        CountedPageDTO<ProductDTO> exact = (CountedPageDTO<ProductDTO>) service.findAllPaged(pageable, CountMode.EXACT);
+        CountedPageDTO<ProductDTO> none = (CountedPageDTO<ProductDTO>) service.findAllPaged(pageable, CountMode.NONE);
+
+        Assertions.assertEquals("exact", exact.getCountMode());
+        Assertions.assertEquals(repository.count(), exact.getTotalElements());
+        Assertions.assertEquals("none", none.getCountMode());
+        Assertions.assertEquals(10, none.getContent().size());
+        Assertions.assertTrue(none.hasNext());
+    }
+
+    @Test
+    public void findAllPagedWithCategoriesShouldReturnCategoriesOfEachProduct() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        Page<ProductDTO> result = service.findAllPagedWithCategories(pageable, null);
+
+        Assertions.assertEquals(5, result.getContent().size());
+        Assertions.assertEquals(1, result.getContent().get(0).getCategories().size());
+        Assertions.assertEquals(2, result.getContent().get(1).getCategories().size());
+    }
+
+    @Test
+    public void findAllSeekShouldReturnNextPageAfterCursorWhenSortedByName() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("name"));
+        CursorPageDTO<ProductDTO> first = service.findAllSeek("", pageable);
+
+        Assertions.assertEquals(5, first.getContent().size());
+        Assertions.assertEquals("Macbook Pro", first.getContent().get(0).getName());
+        Assertions.assertNotNull(first.getNextCursor());
+
+        CursorPageDTO<ProductDTO> second = service.findAllSeek(first.getNextCursor(), pageable);
+
+        Assertions.assertEquals(5, second.getContent().size());
+        Assertions.assertEquals("PC Gamer Er", second.getContent().get(0).getName());
+    }
+
+    @Test
+    public void findAllSeekShouldReturnLastPageWithoutNextCursor() {
+        Pageable pageable = PageRequest.of(0, 100, Sort.by("price"));
+        CursorPageDTO<ProductDTO> result = service.findAllSeek("", pageable);
+
+        Assertions.assertEquals(repository.count(), result.getContent().size());
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void findAllSeekShouldKeepProductsWithoutSortKeyFirstAscendingAndLastDescending() {
+        for (Long id : List.of(4L, 9L)) {
+            Product product = repository.findById(id).get();
+            product.setPrice(null);
+            repository.save(product);
+        }
+
+        List<Long> ascending = seekAll(Sort.by("price"));
+        List<Long> descending = seekAll(Sort.by(Sort.Direction.DESC, "price"));
+
+        Assertions.assertEquals(repository.count(), ascending.stream().distinct().count());
+        Assertions.assertEquals(repository.count(), descending.stream().distinct().count());
+        Assertions.assertEquals(List.of(4L, 9L), ascending.subList(0, 2));
+        Assertions.assertEquals(List.of(9L, 4L), descending.subList(descending.size() - 2, descending.size()));
+    }
+
+    @Test
+    public void findAllSeekShouldThrowInvalidRequestExceptionWhenCursorIsInvalid() {
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> {
+            service.findAllSeek("not-a-cursor", PageRequest.of(0, 5));
+        });
+    }
+
+    @Test
+    public void searchShouldReturnMatchingProductsRankedByRelevance() {
+        Page<ProductDTO> result = service.search("gamer alf", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(0).getName());
+    }
+
+    @Test
+    public void searchShouldRequireEveryTermWhenServedFromDatabaseBeforeIndexIsBuilt() {
+        Page<ProductDTO> fromIndex = service.search("gamer alf", PageRequest.of(0, 10));
+        Page<ProductDTO> result;
+        ReflectionTestUtils.setField(textIndex, "ready", false);
+        try {
+            result = service.search("gamer alf", PageRequest.of(0, 10));
+        } finally {
+            ReflectionTestUtils.setField(textIndex, "ready", true);
+        }
+
+        Assertions.assertEquals(fromIndex.map(ProductDTO::getId).getContent(), result.map(ProductDTO::getId).getContent());
+    }
+
+    @Test
+    public void findByCategoriesShouldReturnUnionAndFacetsWhenModeIsAny() {
+        FacetedPageDTO<ProductDTO> result = service.findByCategories(List.of(1L, 3L), false, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(23, result.getTotalElements());
+        Assertions.assertEquals(2L, result.getContent().get(0).getId());
+        Assertions.assertEquals(Map.of(1L, 1L, 3L, 23L), result.getFacets());
+    }
+
+    @Test
+    public void findByCategoriesShouldMatchIndexWhenServedFromDatabaseBeforeIndexIsBuilt() {
+        PageRequest pageable = PageRequest.of(1, 5);
+        FacetedPageDTO<ProductDTO> anyFromIndex = service.findByCategories(List.of(1L, 3L), false, pageable);
+        FacetedPageDTO<ProductDTO> allFromIndex = service.findByCategories(List.of(1L, 3L), true, pageable);
+        FacetedPageDTO<ProductDTO> any;
+        FacetedPageDTO<ProductDTO> all;
+        Object bitmaps = ReflectionTestUtils.getField(categoryIndex, "bitmaps");
+        ReflectionTestUtils.setField(categoryIndex, "bitmaps", new HashMap<>());
+        ReflectionTestUtils.setField(categoryIndex, "ready", false);
+        try {
+            any = service.findByCategories(List.of(1L, 3L), false, pageable);
+            all = service.findByCategories(List.of(1L, 3L, 3L), true, pageable);
+        } finally {
+            ReflectionTestUtils.setField(categoryIndex, "bitmaps", bitmaps);
+            ReflectionTestUtils.setField(categoryIndex, "ready", true);
+        }
+
+        Assertions.assertEquals(anyFromIndex.getTotalElements(), any.getTotalElements());
+        Assertions.assertEquals(anyFromIndex.getFacets(), any.getFacets());
+        Assertions.assertEquals(anyFromIndex.map(ProductDTO::getId).getContent(), any.map(ProductDTO::getId).getContent());
+        Assertions.assertEquals(allFromIndex.getTotalElements(), all.getTotalElements());
+        Assertions.assertEquals(allFromIndex.getFacets(), all.getFacets());
+    }
+
+    @Test
+    public void findByCategoriesShouldReturnIntersectionWhenModeIsAll() {
+        FacetedPageDTO<ProductDTO> result = service.findByCategories(List.of(1L, 3L), true, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals(2L, result.getContent().get(0).getId());
+    }
+
+    @Test
+    public void findByPriceRangeShouldReturnProductsInRangeSortedByPrice() {
+        Page<ProductDTO> result = service.findByPriceRange(90.0, 1200.0, PageRequest.of(0, 10, Sort.by("price")));
+
+        Assertions.assertEquals(3, result.getTotalElements());
+        Assertions.assertEquals("The Lord of the Rings", result.getContent().get(0).getName());
+        Assertions.assertEquals("Rails for Dummies", result.getContent().get(1).getName());
+        Assertions.assertEquals("PC Gamer", result.getContent().get(2).getName());
+    }
+
+    @Test
+    public void findByPriceRangeShouldThrowInvalidRequestExceptionWhenMinIsGreaterThanMax() {
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> {
+            service.findByPriceRange(100.0, 10.0, PageRequest.of(0, 10));
+        });
+    }
+
+    @Test
+    public void findAllFieldsShouldReturnOnlyRequestedFieldsInFixedOrder() {
+        Page<Map<String, Object>> result = service.findAllFields(PageRequest.of(0, 10, Sort.by("price")), Set.of("price", "name", "id"));
+
+        Assertions.assertEquals(25, result.getTotalElements());
+        Assertions.assertEquals(List.of("id", "name", "price"), List.copyOf(result.getContent().get(0).keySet()));
+        Assertions.assertFalse(result.getContent().get(0).containsKey("description"));
+    }
+
+    @Test
+    public void findAllFieldsShouldThrowInvalidRequestExceptionWhenFieldIsUnsupported() {
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> {
+            service.findAllFields(PageRequest.of(0, 10), Set.of("name", "categories"));
+        });
+    }
+
     @Test
     public void findByIdShouldReturnProductDTOWhenIdExists() {
         ProductDTO result = service.findById(existingId);
@@ -117,6 +313,36 @@ public class ProductServiceIT {
         });
     }
 
+    @Test
+    public void patchShouldUpdateOnlyGivenFieldsWhenIdExists() throws Exception {
+        Product before = repository.findById(2L).get();
+        String name = before.getName();
+
+        ProductDTO result = service.patch(2L, objectMapper.readTree("{\"price\": 10.0}"));
+
+        Assertions.assertEquals(10.0, result.getPrice());
+        Assertions.assertEquals(name, result.getName());
+        Assertions.assertEquals(2, repository.findById(2L).get().getCategories().size());
+    }
+
+    @Test
+    public void patchShouldReplaceCategoriesByDifferenceWhenCategoriesAreGiven() throws Exception {
+        service.patch(2L, objectMapper.readTree("{\"categories\": [{\"id\": 3}, {\"id\": 2}]}"));
+
+        Set<Long> result = repository.findById(2L).get().getCategories().stream().map(x -> x.getId()).collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of(2L, 3L), result);
+    }
+
+    @Test
+    public void patchAllShouldThrowResourceNotFoundExceptionWhenAnyIdDoesNotExist() throws Exception {
+        List<JsonNode> patches = List.of(objectMapper.readTree("{\"id\": 1, \"price\": 1.0}"),
+                objectMapper.readTree("{\"id\": " + nonExistingId + ", \"price\": 1.0}"));
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            service.patchAll(patches);
+        });
+    }
+
     @Test
     public void deleteShouldDeleteResourceWhenIdExists() {
         service.delete(existingId);
@@ -133,4 +359,15 @@ public class ProductServiceIT {
         });
     }
 
+    // Every id, following next cursors in pages of 4 so that pages split the rows without a price
+    private List<Long> seekAll(Sort sort) {
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            CursorPageDTO<ProductDTO> page = service.findAllSeek(after, PageRequest.of(0, 4, sort));
+            page.getContent().forEach(x -> ids.add(x.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+        return ids;
+    }
 }
@@ -11,6 +11,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -24,6 +25,7 @@ import com.ferreira.dscatalog.entities.Product;
 import com.ferreira.dscatalog.factories.ProductFactory;
 import com.ferreira.dscatalog.repositories.CategoryRepository;
 import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.cache.BoundedCache;
 import com.ferreira.dscatalog.services.exceptions.DatabaseException;
 import com.ferreira.dscatalog.services.exceptions.ResourceNotFoundException;
 
@@ -38,9 +40,18 @@ public class ProductServiceTests {
     @Mock
     private ProductRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BoundedCache<Long, ProductDTO> productCache;
+
+    @Mock
+    private CategoryCatalog categoryCatalog;
+
     private Long existingId;
     private Long nonExistingId;
     private Long dependentId;
@@ -74,6 +85,7 @@ public class ProductServiceTests {
         Mockito.when(repository.existsById(nonExistingId)).thenReturn(false);
 
         Mockito.when(categoryRepository.getReferenceById(existingId)).thenReturn(new Category(1L, "null"));
+        Mockito.when(categoryCatalog.contains(existingId)).thenReturn(true);
 
         Mockito.doThrow(DataIntegrityViolationException.class).when(repository).deleteById(dependentId);
         Mockito.doNothing().when(repository).deleteById(existingId);
@@ -124,6 +136,7 @@ public class ProductServiceTests {
     @Test
     public void updateShouldUpdateAndReturnProductDTOWhenIdExists() {
         productDTO.setId(null);
+        product.getCategories().clear();
         ProductDTO result = service.update(existingId, productDTO);
 
         Assertions.assertNotNull(result);
@@ -134,6 +147,23 @@ public class ProductServiceTests {
         Mockito.verify(categoryRepository).getReferenceById(existingId);
     }
 
+    @Test
+    public void updateShouldKeepExistingCategoryLinksWithoutLoadingThem() {
+        service.update(existingId, productDTO);
+
+        Assertions.assertEquals(1, product.getCategories().size());
+        Mockito.verify(categoryRepository, Mockito.never()).getReferenceById(ArgumentMatchers.any());
+        Assertions.assertNull(product.getUpdateAt());
+    }
+
+    @Test
+    public void updateShouldSetUpdateAtWhenOnlyCategoriesChange() {
+        product.getCategories().clear();
+        service.update(existingId, productDTO);
+
+        Assertions.assertNotNull(product.getUpdateAt());
+    }
+
     @Test
     public void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
 
@@ -0,0 +1,72 @@
+package com.ferreira.dscatalog.services;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.entities.Role;
+import com.ferreira.dscatalog.repositories.RoleRepository;
+
+@ExtendWith(SpringExtension.class)
+public class RoleDictionaryTests {
+
+    private RoleDictionary dictionary;
+
+    @Mock
+    private RoleRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dictionary = new RoleDictionary(transactionManager);
+        ReflectionTestUtils.setField(dictionary, "repository", repository);
+
+        Mockito.when(repository.findAll(ArgumentMatchers.any(Sort.class)))
+                .thenReturn(List.of(new Role(1L, "ROLE_OPERATOR")))
+                .thenReturn(List.of(new Role(1L, "ROLE_OPERATOR"), new Role(2L, "ROLE_ADMIN")));
+    }
+
+    @Test
+    public void containsShouldNotReloadForEveryUnknownId() {
+        Assertions.assertTrue(dictionary.contains(1L));
+        for (long id = 100; id < 110; id++) {
+            Assertions.assertFalse(dictionary.contains(id));
+        }
+
+        Mockito.verify(repository, Mockito.times(1)).findAll(ArgumentMatchers.any(Sort.class));
+    }
+
+    @Test
+    public void containsShouldReloadForUnknownIdWhenRolesAreOlderThanInterval() {
+        Assertions.assertFalse(dictionary.contains(2L));
+        ReflectionTestUtils.setField(dictionary, "loadedAt", System.nanoTime() - Duration.ofMinutes(1).toNanos());
+
+        Assertions.assertTrue(dictionary.contains(2L));
+        Mockito.verify(repository, Mockito.times(2)).findAll(ArgumentMatchers.any(Sort.class));
+    }
+
+    @Test
+    public void getShouldReturnSameReadOnlyInstanceAcrossReloads() {
+        RoleDTO role = dictionary.get(1L);
+        ReflectionTestUtils.setField(dictionary, "loadedAt", System.nanoTime() - Duration.ofMinutes(1).toNanos());
+        dictionary.get(2L);
+
+        Assertions.assertSame(role, dictionary.get(1L));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> role.setAuthority("ROLE_ADMIN"));
+        Assertions.assertEquals("ROLE_OPERATOR", role.getAuthority());
+    }
+}
@@ -0,0 +1,60 @@
+package com.ferreira.dscatalog.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ferreira.dscatalog.dto.RoleDTO;
+import com.ferreira.dscatalog.dto.UserDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+public class UserServiceIT {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private RoleDictionary roleDictionary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        roleDictionary.findAll();
+    }
+
+    @Test
+    public void findAllPagedShouldLoadRolesOfWholePageWithOneQuery() {
+        statistics.clear();
+
+        Page<UserDTO> result = service.findAllPaged(PageRequest.of(0, 10, Sort.by("id")));
+
+        Assertions.assertEquals(2, result.getContent().size());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllPagedShouldShareRoleInstancesBetweenUsers() {
+        Page<UserDTO> result = service.findAllPaged(PageRequest.of(0, 10, Sort.by("id")));
+
+        RoleDTO first = result.getContent().get(0).getRoleDTOs().iterator().next();
+        RoleDTO second = result.getContent().get(1).getRoleDTOs().stream().filter(x -> x.getId().equals(first.getId())).findFirst().get();
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(2, result.getContent().get(1).getRoleDTOs().size());
+    }
+}
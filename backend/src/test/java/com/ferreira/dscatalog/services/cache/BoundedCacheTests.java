@@ -0,0 +1,75 @@
+package com.ferreira.dscatalog.services.cache;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTests {
+
+    @Test
+    public void putShouldEvictLeastRecentlyUsedWhenWeightIsExceeded() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 10, String::length, Duration.ZERO);
+        cache.put(1L, "aaaa", cache.stamp());
+        cache.put(2L, "bbbb", cache.stamp());
+        cache.get(1L);
+        cache.put(3L, "cccc", cache.stamp());
+
+        Assertions.assertEquals("aaaa", cache.get(1L));
+        Assertions.assertNull(cache.get(2L));
+        Assertions.assertEquals(1, cache.stats().getEvictions());
+        Assertions.assertEquals(8, cache.stats().getWeight());
+    }
+
+    @Test
+    public void putShouldBeIgnoredWhenInvalidatedAfterStamp() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 100, String::length, Duration.ZERO);
+        long stamp = cache.stamp();
+        cache.invalidate(1L);
+        cache.put(1L, "stale", stamp);
+
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals(0, cache.stats().getHits());
+        Assertions.assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    public void invalidateIfShouldRemoveMatchingEntries() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 100, String::length, Duration.ZERO);
+        cache.put(1L, "books", cache.stamp());
+        cache.put(2L, "computers", cache.stamp());
+        cache.invalidateIf(x -> x.startsWith("b"));
+
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals("computers", cache.get(2L));
+    }
+
+    @Test
+    public void invalidateGroupShouldRemoveOnlyEntriesOfThatGroup() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, 100, String::length, Duration.ZERO, x -> x.charAt(0));
+        cache.put("1", "books", cache.stamp());
+        cache.put("2", "bikes", cache.stamp());
+        cache.put("3", "computers", cache.stamp());
+        cache.invalidateGroup('b');
+
+        Assertions.assertNull(cache.get("1"));
+        Assertions.assertNull(cache.get("2"));
+        Assertions.assertEquals("computers", cache.get("3"));
+        Assertions.assertEquals(9, cache.stats().getWeight());
+    }
+
+    @Test
+    public void invalidateGroupShouldFollowReplacedAndEvictedEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2, 100, String::length, Duration.ZERO, x -> x.charAt(0));
+        cache.put("1", "books", cache.stamp());
+        cache.put("1", "computers", cache.stamp());
+        cache.put("2", "bikes", cache.stamp());
+        cache.put("3", "cars", cache.stamp());
+        cache.put("1", "cameras", cache.stamp());
+        cache.invalidateGroup('b');
+
+        Assertions.assertEquals("cameras", cache.get("1"));
+        Assertions.assertEquals("cars", cache.get("3"));
+        Assertions.assertEquals(2, cache.stats().getSize());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ferreira.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CsvFeedReaderTests {
+
+    @Test
+    public void nextShouldParseQuotedFieldsSpanningLines() throws Exception {
+        String csv = "name,price,description,date,categories\n"
+                + "\"Phone, 5G\",999.9,\"Line one\nsaid \"\"hi\"\"\",2020-07-13T20:50:07Z,1;3\n"
+                + "\n"
+                + "Tablet,abc,,,\n";
+        try (CsvFeedReader reader = new CsvFeedReader(new BufferedReader(new StringReader(csv)))) {
+            FeedRecord first = reader.next();
+            FeedRecord second = reader.next();
+
+            Assertions.assertTrue(first.isValid());
+            Assertions.assertEquals(2, first.getLine());
+            Assertions.assertEquals("Phone, 5G", first.getProduct().getName());
+            Assertions.assertEquals("Line one\nsaid \"hi\"", first.getProduct().getDescription());
+            Assertions.assertEquals(Instant.parse("2020-07-13T20:50:07Z"), first.getProduct().getDate());
+            Assertions.assertEquals(2, first.getProduct().getCategories().size());
+
+            Assertions.assertFalse(second.isValid());
+            Assertions.assertEquals(5, second.getLine());
+            Assertions.assertNull(reader.next());
+        }
+    }
+}
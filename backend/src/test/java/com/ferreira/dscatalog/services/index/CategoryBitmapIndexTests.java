@@ -0,0 +1,91 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ferreira.dscatalog.entities.Category;
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.CategoryChangedEvent;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+@ExtendWith(SpringExtension.class)
+public class CategoryBitmapIndexTests {
+
+    @InjectMocks
+    private CategoryBitmapIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = new ArrayList<>(List.of(
+                new Object[] { 1L, 1L },
+                new Object[] { 2L, 1L },
+                new Object[] { 2L, 2L },
+                new Object[] { 3L, 2L }));
+        Mockito.when(repository.findMaxId()).thenReturn(3L);
+        Mockito.when(repository.findCategoryMemberships(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong())).thenReturn(rows);
+    }
+
+    @Test
+    public void selectShouldReturnUnionOrIntersectionWithFacets() {
+        index.build();
+
+        CategoryBitmapIndex.Selection any = index.select(List.of(1L, 2L), false);
+        Assertions.assertEquals(3, any.getCount());
+        Assertions.assertEquals(List.of(1L, 2L, 3L), any.page(0, 10));
+        Assertions.assertEquals(Map.of(1L, 2L, 2L, 2L), any.getFacets());
+        Assertions.assertEquals(List.of(2L), index.select(List.of(1L, 2L), true).page(0, 10));
+    }
+
+    @Test
+    public void buildShouldReplayChangesReceivedBeforeItIsPublished() {
+        Assertions.assertFalse(index.isReady());
+        // Committed after their rows were read: the rows still show product 2 in category 1 and product 3 at all
+        index.onProductChanged(changed(2L, ChangeType.UPDATED, 2L));
+        index.onProductChanged(new ProductChangedEvent(3L, ChangeType.DELETED));
+        index.onProductChanged(changed(4L, ChangeType.CREATED, 1L));
+        index.onCategoryChanged(new CategoryChangedEvent(2L, ChangeType.DELETED));
+        Assertions.assertEquals(0, index.select(List.of(1L), false).getCount());
+
+        index.build();
+
+        Assertions.assertTrue(index.isReady());
+        Assertions.assertEquals(List.of(1L, 4L), index.select(List.of(1L), false).page(0, 10));
+        Assertions.assertEquals(0, index.select(List.of(2L), false).getCount());
+        Assertions.assertEquals(Map.of(1L, 2L), index.select(List.of(1L, 2L), false).getFacets());
+    }
+
+    @Test
+    public void onProductChangedShouldApplyDirectlyOnceBuilt() {
+        index.build();
+        index.onProductChanged(changed(1L, ChangeType.UPDATED, 2L));
+
+        Assertions.assertEquals(List.of(2L), index.select(List.of(1L), false).page(0, 10));
+        Assertions.assertEquals(List.of(1L, 2L, 3L), index.select(List.of(2L), false).page(0, 10));
+    }
+
+    private static ProductChangedEvent changed(Long id, ChangeType type, Long... categoryIds) {
+        Product product = new Product(id, "Product " + id, null, 10.0, null, null);
+        for (Long categoryId : categoryIds) {
+            product.getCategories().add(new Category(categoryId, null));
+        }
+        return new ProductChangedEvent(product, type);
+    }
+}
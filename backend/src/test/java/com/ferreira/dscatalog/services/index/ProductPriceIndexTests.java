@@ -0,0 +1,72 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+@ExtendWith(SpringExtension.class)
+public class ProductPriceIndexTests {
+
+    @InjectMocks
+    private ProductPriceIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Object[]> rows = List.of(
+                new Object[] { 1L, 90.5 },
+                new Object[] { 2L, 2100.0 },
+                new Object[] { 3L, 1250.0 },
+                new Object[] { 4L, 90.5 });
+        Mockito.when(repository.findMaxId()).thenReturn(4L);
+        Mockito.when(repository.findPrices(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong())).thenReturn(rows);
+        index.build();
+    }
+
+    @Test
+    public void selectShouldReturnProductsInRangeOrderedByPriceAndId() {
+        ProductPriceIndex.Range range = index.select(90.5, 1250.0, false);
+
+        Assertions.assertEquals(3, range.getCount());
+        Assertions.assertEquals(List.of(1L, 4L, 3L), range.page(0, 10));
+        Assertions.assertEquals(List.of(4L), range.page(1, 1));
+        Assertions.assertEquals(List.of(2L, 3L), index.select(1000.0, 5000.0, true).page(0, 10));
+    }
+
+    @Test
+    public void selectShouldReflectChangesBeforeAndAfterMerge() {
+        index.onProductChanged(event(3L, ChangeType.UPDATED, 50.0));
+        index.onProductChanged(event(1L, ChangeType.DELETED, null));
+        index.onProductChanged(event(5L, ChangeType.CREATED, 100.0));
+
+        ProductPriceIndex.Range range = index.select(0.0, 1000.0, false);
+        Assertions.assertEquals(3, range.getCount());
+        Assertions.assertEquals(List.of(3L, 4L, 5L), range.page(0, 10));
+
+        for (long id = 100; id < 1200; id++) {
+            index.onProductChanged(event(id, ChangeType.CREATED, 5000.0));
+        }
+
+        Assertions.assertEquals(List.of(3L, 4L, 5L), index.select(0.0, 1000.0, false).page(0, 10));
+        Assertions.assertEquals(1101, index.select(2000.0, 6000.0, false).getCount());
+    }
+
+    private static ProductChangedEvent event(Long id, ChangeType type, Double price) {
+        return new ProductChangedEvent(id, type, "Product " + id, null, price, Set.of());
+    }
+}
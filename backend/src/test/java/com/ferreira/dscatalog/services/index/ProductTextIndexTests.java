@@ -0,0 +1,100 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ferreira.dscatalog.entities.Product;
+import com.ferreira.dscatalog.repositories.ProductRepository;
+import com.ferreira.dscatalog.services.events.ChangeType;
+import com.ferreira.dscatalog.services.events.ProductChangedEvent;
+
+@ExtendWith(SpringExtension.class)
+public class ProductTextIndexTests {
+
+    @InjectMocks
+    private ProductTextIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Product> products = List.of(
+                new Product(1L, "Smart TV", "A television with streaming apps", 10.0, null, null),
+                new Product(2L, "PC Gamer", "Computer for games and smart home streaming", 10.0, null, null),
+                new Product(3L, "Macbook Pro", "Notebook for professionals", 10.0, null, null));
+        Mockito.when(repository.findAllBy(ArgumentMatchers.any())).thenReturn(new SliceImpl<>(products, Pageable.unpaged(), false));
+        index.build();
+    }
+
+    @Test
+    public void buildShouldReplayChangesReceivedBeforeItIsPublished() {
+        ProductTextIndex building = new ProductTextIndex();
+        ReflectionTestUtils.setField(building, "repository", repository);
+        Assertions.assertFalse(building.isReady());
+        // Committed after their rows were read: the rows still show product 1 and the old name of product 3
+        building.onProductChanged(new ProductChangedEvent(1L, ChangeType.DELETED));
+        building.onProductChanged(new ProductChangedEvent(new Product(3L, "Macbook Air", "Light notebook", 10.0, null, null), ChangeType.UPDATED));
+
+        building.build();
+
+        Assertions.assertTrue(building.isReady());
+        Assertions.assertEquals(List.of(2L), building.search("smart"));
+        Assertions.assertTrue(building.search("professionals").isEmpty());
+        Assertions.assertEquals(List.of(3L), building.search("air"));
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesFirst() {
+        List<Long> result = index.search("smart");
+
+        Assertions.assertEquals(List.of(1L, 2L), result);
+    }
+
+    @Test
+    public void searchShouldMatchPrefixesAndIgnoreAccentsAndCase() {
+        List<Long> result = index.search("NOTEBO");
+
+        Assertions.assertEquals(List.of(3L), index.search("Notébook"));
+        Assertions.assertEquals(List.of(3L), result);
+    }
+
+    @Test
+    public void searchShouldRequireEveryTerm() {
+        List<Long> result = index.search("streaming computer");
+
+        Assertions.assertEquals(List.of(2L), result);
+    }
+
+    @Test
+    public void searchShouldReturnEmptyListWhenQueryIsBlank() {
+        Assertions.assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    public void removeShouldDropProductFromResults() {
+        index.remove(1L);
+
+        Assertions.assertEquals(List.of(2L), index.search("smart"));
+    }
+
+    @Test
+    public void putShouldReplacePreviousTermsWhenProductIsUpdated() {
+        index.put(3L, "Macbook Air", "Light notebook");
+
+        Assertions.assertTrue(index.search("professionals").isEmpty());
+        Assertions.assertEquals(List.of(3L), index.search("air"));
+    }
+}
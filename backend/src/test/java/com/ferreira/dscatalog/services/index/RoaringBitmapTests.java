@@ -0,0 +1,57 @@
+package com.ferreira.dscatalog.services.index;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RoaringBitmapTests {
+
+    @Test
+    public void andShouldKeepCommonValuesAcrossContainerKinds() {
+        RoaringBitmap dense = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            dense.add(i);
+        }
+        RoaringBitmap sparse = new RoaringBitmap();
+        sparse.add(5);
+        sparse.add(9_999);
+        sparse.add(70_000);
+
+        RoaringBitmap result = dense.and(sparse);
+
+        Assertions.assertEquals(2, result.cardinality());
+        Assertions.assertEquals(2, dense.andCardinality(sparse));
+        Assertions.assertTrue(result.contains(9_999));
+        Assertions.assertFalse(result.contains(70_000));
+    }
+
+    @Test
+    public void orShouldMergeValuesInAscendingOrder() {
+        RoaringBitmap a = new RoaringBitmap();
+        a.add(70_000);
+        a.add(3);
+        RoaringBitmap b = new RoaringBitmap();
+        b.add(1);
+        b.add(3);
+
+        RoaringBitmap result = a.or(b);
+
+        Assertions.assertEquals(List.of(1, 3, 70_000), result.page(0, 10));
+        Assertions.assertEquals(List.of(70_000), result.page(2, 10));
+    }
+
+    @Test
+    public void removeShouldShrinkDenseContainerBackToSparse() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i <= 4096; i++) {
+            bitmap.add(i * 2);
+        }
+        bitmap.remove(0);
+        bitmap.remove(1);
+
+        Assertions.assertEquals(4096, bitmap.cardinality());
+        Assertions.assertEquals(List.of(2, 4), bitmap.page(0, 2));
+        Assertions.assertFalse(bitmap.contains(0));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ferreira.dscatalog.services.tracing;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SqlFingerprintTests {
+
+    @Test
+    public void ofShouldReplaceLiteralsAndCollapseWhitespace() {
+        String result = SqlFingerprint.of("SELECT p1_0.id\n    FROM tb_product p1_0 WHERE p1_0.name = 'It''s' AND p1_0.price > 10.5 -- filter\n");
+
+        Assertions.assertEquals("select p1_0.id from tb_product p1_0 where p1_0.name = ? and p1_0.price > ?", result);
+    }
+
+    @Test
+    public void ofShouldCollapseInListsOfAnyLength() {
+        Assertions.assertEquals(SqlFingerprint.of("select * from tb_product where id in (?,?,?)"),
+                SqlFingerprint.of("select * from tb_product where id in (?, ?)"));
+    }
+
+    @Test
+    public void forSqlShouldAggregateStatementsWithTheSameFingerprint() {
+        SqlStatistics statistics = new SqlStatistics(Duration.ofMillis(100), 10);
+        statistics.forSql("select * from tb_user where id = 1").recordExecution("select * from tb_user where id = 1", 1_000_000, false);
+        statistics.forSql("select * from tb_user where id = 2").recordExecution("select * from tb_user where id = 2", 200_000_000, false);
+
+        Assertions.assertEquals(1, statistics.top(10).size());
+        Assertions.assertEquals(2, statistics.top(10).get(0).getCount());
+        Assertions.assertEquals(1, statistics.top(10).get(0).getSlowCount());
+        Assertions.assertEquals("select * from tb_user where id = 2", statistics.top(10).get(0).getSlowSample());
+    }
+}